@@ -0,0 +1,38 @@
+package com.ucsmgy.projectcatalog.config;
+
+import com.ucsmgy.projectcatalog.services.NotificationStreamService;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+/**
+ * Hands messages straight to the configured broker, and user messages also to the user's SSE
+ * streams on this node (named after the destination's last segment). On its own this only reaches
+ * clients of this node, unless the broker is an external STOMP broker shared by all nodes.
+ */
+public class LocalMessageRelay implements MessageRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final NotificationStreamService notificationStreamService;
+
+    public LocalMessageRelay(SimpMessagingTemplate messagingTemplate, SimpUserRegistry userRegistry,
+                             NotificationStreamService notificationStreamService) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.notificationStreamService = notificationStreamService;
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+
+    @Override
+    public void sendToUser(Long userId, String destination, Object payload) {
+        // Skip the conversion entirely for users without a session.
+        if (userRegistry.getUser(userId.toString()) != null) {
+            messagingTemplate.convertAndSendToUser(userId.toString(), destination, payload);
+        }
+        notificationStreamService.send(userId, destination.substring(destination.lastIndexOf('/') + 1), payload);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ucsmgy.projectcatalog.config;
+
+/**
+ * Delivers STOMP messages to subscribers on every node, not only the one that produced them.
+ */
+public interface MessageRelay {
+
+    void send(String destination, Object payload);
+
+    /**
+     * Sends to the user's own destination, which clients subscribe to as {@code /user} + {@code destination}.
+     */
+    void sendToUser(Long userId, String destination, Object payload);
+}
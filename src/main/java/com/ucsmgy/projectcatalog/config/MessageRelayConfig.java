@@ -0,0 +1,49 @@
+package com.ucsmgy.projectcatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucsmgy.projectcatalog.services.NotificationStreamService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class MessageRelayConfig {
+
+    @Value("${websocket.fanout:local}")
+    private String fanout;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password}")
+    private String datasourcePassword;
+
+    @Value("${websocket.postgres.reconnect-delay:PT5S}")
+    private Duration reconnectDelay;
+
+    @Value("${websocket.postgres.spill-retention:PT5M}")
+    private Duration spillRetention;
+
+    @Bean
+    public MessageRelay messageRelay(SimpMessagingTemplate messagingTemplate,
+                                     SimpUserRegistry userRegistry,
+                                     NotificationStreamService notificationStreamService,
+                                     DataSource dataSource,
+                                     ObjectMapper objectMapper) {
+        LocalMessageRelay local = new LocalMessageRelay(messagingTemplate, userRegistry, notificationStreamService);
+        return switch (fanout.toLowerCase()) {
+            case "local", "broker" -> local;
+            case "postgres" -> new PostgresMessageRelay(local, dataSource, objectMapper,
+                    datasourceUrl, datasourceUsername, datasourcePassword, reconnectDelay, spillRetention);
+            default -> throw new IllegalStateException("Unknown websocket.fanout: " + fanout);
+        };
+    }
+}
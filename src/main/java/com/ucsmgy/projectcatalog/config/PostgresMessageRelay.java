@@ -0,0 +1,214 @@
+package com.ucsmgy.projectcatalog.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Multi-node fan-out without an external broker. Every node keeps its in-process simple broker;
+ * messages are delivered locally right away and queued for the other nodes, which receive them
+ * through Postgres {@code LISTEN/NOTIFY}. Queued frames are batched into as few NOTIFY payloads as
+ * fit under Postgres' 8000 byte limit; a single frame over the limit is written to
+ * {@code ws_fanout_spill} and only its id is sent. Delivery between nodes is best effort: frames
+ * sent while a node's listener is reconnecting are lost to that node's clients.
+ * <p>
+ * The listener holds its connection for as long as the node runs, so it opens its own straight from
+ * the driver instead of taking one out of the application's pool.
+ */
+@Slf4j
+public class PostgresMessageRelay implements MessageRelay {
+
+    private static final String CHANNEL = "ws_fanout";
+    private static final int MAX_BATCH_BYTES = 7500;
+    private static final int POLL_MILLIS = 1000;
+
+    private final LocalMessageRelay local;
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final ObjectMapper objectMapper;
+    private final Duration reconnectDelay;
+    private final Duration spillRetention;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<Frame> outbound = new ConcurrentLinkedQueue<>();
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    public PostgresMessageRelay(LocalMessageRelay local, DataSource dataSource, ObjectMapper objectMapper,
+                                String url, String username, String password,
+                                Duration reconnectDelay, Duration spillRetention) {
+        this.local = local;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.objectMapper = objectMapper;
+        this.reconnectDelay = reconnectDelay;
+        this.spillRetention = spillRetention;
+        this.listener = Thread.ofPlatform().name("ws-fanout-listener").daemon(true).start(this::listen);
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        local.send(destination, payload);
+        outbound.add(new Frame(destination, null, objectMapper.valueToTree(payload)));
+    }
+
+    @Override
+    public void sendToUser(Long userId, String destination, Object payload) {
+        local.sendToUser(userId, destination, payload);
+        outbound.add(new Frame(destination, userId, objectMapper.valueToTree(payload)));
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.postgres.batch-interval:PT0.05S}")
+    public void flush() {
+        List<String> batch = new ArrayList<>();
+        int batchBytes = 0;
+        Frame frame;
+        while ((frame = outbound.poll()) != null) {
+            String json = write(frame);
+            int bytes = json.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes > MAX_BATCH_BYTES) {
+                spill(json);
+                continue;
+            }
+            if (batchBytes + bytes + 1 > MAX_BATCH_BYTES) {
+                publish(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(json);
+            batchBytes += bytes + 1;
+        }
+        if (!batch.isEmpty()) {
+            publish(batch);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeSpill() {
+        jdbcTemplate.update("DELETE FROM ws_fanout_spill WHERE created_at < CURRENT_TIMESTAMP - INTERVAL '1 second' * ?",
+                spillRetention.toSeconds());
+    }
+
+    private void publish(List<String> frames) {
+        String envelope = "{\"node\":\"" + nodeId + "\",\"frames\":[" + String.join(",", frames) + "]}";
+        pgNotify(envelope);
+    }
+
+    private void spill(String frame) {
+        try {
+            Long id = jdbcTemplate.queryForObject(
+                    "INSERT INTO ws_fanout_spill (payload) VALUES (?) RETURNING id", Long.class, frame);
+            pgNotify("{\"node\":\"" + nodeId + "\",\"spill\":" + id + "}");
+        } catch (RuntimeException e) {
+            log.warn("Failed to spill an oversized WebSocket frame", e);
+        }
+    }
+
+    private void pgNotify(String envelope) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {
+            }, CHANNEL, envelope);
+        } catch (RuntimeException e) {
+            // Local clients already have the frames; only the other nodes miss them.
+            log.warn("Failed to relay WebSocket frames to other nodes", e);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                log.info("Listening for WebSocket fan-out on channel {}", CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("WebSocket fan-out listener lost its connection, reconnecting in {}", reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String envelope) {
+        try {
+            JsonNode root = objectMapper.readTree(envelope);
+            if (nodeId.equals(root.path("node").asText())) {
+                return;
+            }
+            if (root.has("spill")) {
+                String frame = jdbcTemplate.queryForObject(
+                        "SELECT payload FROM ws_fanout_spill WHERE id = ?", String.class, root.get("spill").asLong());
+                deliver(objectMapper.readValue(frame, Frame.class));
+                return;
+            }
+            for (JsonNode frame : root.path("frames")) {
+                deliver(objectMapper.treeToValue(frame, Frame.class));
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Dropping unreadable WebSocket fan-out message", e);
+        }
+    }
+
+    private void deliver(Frame frame) {
+        if (frame.userId() != null) {
+            local.sendToUser(frame.userId(), frame.destination(), frame.payload());
+        } else {
+            local.send(frame.destination(), frame.payload());
+        }
+    }
+
+    private String write(Frame frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        listener.interrupt();
+    }
+
+    private record Frame(String destination, Long userId, JsonNode payload) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.ucsmgy.projectcatalog.config;
 
 import com.ucsmgy.projectcatalog.util.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -44,7 +45,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/ws/**").permitAll() // allow WebSocket handshake
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // streamed responses were authorized on the original dispatch
                         .requestMatchers(HttpMethod.POST, "/users/login/**","/download","/generate", "/users/register/request-code","/users/forgot-password","/users/reset-password", "/users/register/verify-and-create").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/files/**").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/files/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/users/login/**", "/users/register/request-code", "/users/register/verify-and-create").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -72,8 +76,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:5173","http://localhost:4173","https://project-catalog-client.vercel.app"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Idempotency-Key", "Upload-Offset", "If-Match"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "Location", "Upload-Offset", "Upload-Length", "ETag", "Content-Range", "Content-Disposition"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,85 @@
+package com.ucsmgy.projectcatalog.config;
+
+import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Authenticates STOMP sessions from the {@code Authorization: Bearer} header of the CONNECT frame.
+ * The session's principal name is the user ID, which is what {@code /user/...} destinations resolve
+ * against. Connections without a token stay anonymous and can only use the public topics.
+ * <p>
+ * The legacy per-user topics ({@code /topic/notifications/{userId}}, kept behind
+ * {@code websocket.legacy-topics}) are plain broker topics, so subscriptions to them are only
+ * allowed for the user they belong to.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String LEGACY_NOTIFICATION_TOPIC = "/topic/notifications/";
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            checkSubscription(message, accessor);
+            return message;
+        }
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return message;
+        }
+
+        User user;
+        try {
+            user = userRepository.findByEmail(jwtUtil.extractUsername(header.substring(7)))
+                    .orElseThrow(() -> new MessagingException(message, "Unknown user"));
+        } catch (JwtException e) {
+            throw new MessagingException(message, "Invalid or expired token");
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(user.getId().toString(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().toUpperCase()))));
+        return message;
+    }
+
+    private static void checkSubscription(Message<?> message, StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return;
+        }
+        // The simple broker matches subscriptions as patterns, so /topic/** would get everyone's topics.
+        if (destination.contains("*") || destination.contains("{")) {
+            throw new MessagingException(message, "Wildcard subscriptions are not allowed");
+        }
+        if (!destination.startsWith(LEGACY_NOTIFICATION_TOPIC)) {
+            return;
+        }
+        String owner = destination.substring(LEGACY_NOTIFICATION_TOPIC.length()).split("/", 2)[0];
+        Principal user = accessor.getUser();
+        if (user == null || !owner.equals(user.getName())) {
+            throw new MessagingException(message, "Not allowed to subscribe to " + destination);
+        }
+    }
+}
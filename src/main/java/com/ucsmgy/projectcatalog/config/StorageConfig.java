@@ -0,0 +1,27 @@
+package com.ucsmgy.projectcatalog.config;
+
+import com.ucsmgy.projectcatalog.services.CloudStorageService;
+import com.ucsmgy.projectcatalog.services.DropboxStorageService;
+import com.ucsmgy.projectcatalog.services.LocalStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class StorageConfig {
+
+    @Value("${storage.type:dropbox}")
+    private String storageType;
+
+    @Bean
+    @Primary
+    public CloudStorageService cloudStorageService(DropboxStorageService dropboxStorageService,
+                                                   LocalStorageService localStorageService) {
+        return switch (storageType.toLowerCase()) {
+            case "dropbox" -> dropboxStorageService;
+            case "local", "tiered" -> localStorageService;
+            default -> throw new IllegalStateException("Unknown storage.type: " + storageType);
+        };
+    }
+}
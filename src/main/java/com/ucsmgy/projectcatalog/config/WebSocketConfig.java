@@ -2,12 +2,16 @@ package com.ucsmgy.projectcatalog.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
-import java.util.Arrays;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -16,17 +20,88 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${frontend.url}")
     private String frontendurl;
 
+    @Value("${websocket.fanout:local}")
+    private String fanout;
+
+    @Value("${websocket.heartbeat:PT10S}")
+    private Duration heartbeat;
+
+    @Value("${websocket.sockjs-heartbeat:PT25S}")
+    private Duration sockJsHeartbeat;
+
+    @Value("${websocket.send-time-limit:PT10S}")
+    private Duration sendTimeLimit;
+
+    @Value("${websocket.send-buffer-size:512KB}")
+    private DataSize sendBufferSize;
+
+    @Value("${websocket.broker.host:localhost}")
+    private String brokerHost;
+
+    @Value("${websocket.broker.port:61613}")
+    private int brokerPort;
+
+    @Value("${websocket.broker.login:guest}")
+    private String brokerLogin;
+
+    @Value("${websocket.broker.passcode:guest}")
+    private String brokerPasscode;
+
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    public WebSocketConfig(StompAuthChannelInterceptor stompAuthChannelInterceptor) {
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Clients subscribe to /topic/...
-        config.enableSimpleBroker("/topic");
+        // Clients subscribe to /topic/... for public feeds and /user/queue/... for their own messages
+        long heartbeatMillis = heartbeat.toMillis();
+        if ("broker".equalsIgnoreCase(fanout)) {
+            // Every node shares the external broker, which then does the fan-out itself.
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(brokerHost)
+                    .setRelayPort(brokerPort)
+                    .setClientLogin(brokerLogin)
+                    .setClientPasscode(brokerPasscode)
+                    .setSystemLogin(brokerLogin)
+                    .setSystemPasscode(brokerPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatMillis)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMillis)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+            heartbeatScheduler.setPoolSize(1);
+            heartbeatScheduler.setThreadNamePrefix("ws-heartbeat-");
+            heartbeatScheduler.setDaemon(true);
+            heartbeatScheduler.initialize();
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+                    .setTaskScheduler(heartbeatScheduler);
+        }
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("http://localhost:5173","https://project-catalog-client.vercel.app","http://localhost:4173")
-                .withSockJS();
+                .withSockJS()
+                .setHeartbeatTime(sockJsHeartbeat.toMillis());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Frames for a slow client queue up in its session buffer and go out together once it catches
+        // up; a client that stays behind past these limits is disconnected instead of piling up memory.
+        registration.setSendTimeLimit((int) sendTimeLimit.toMillis())
+                .setSendBufferSizeLimit((int) sendBufferSize.toBytes());
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,41 @@
 package com.ucsmgy.projectcatalog.config;
 
+import com.ucsmgy.projectcatalog.dtos.ProjectActivityDTO;
 import com.ucsmgy.projectcatalog.entities.Notification;
-import lombok.RequiredArgsConstructor;
+import com.ucsmgy.projectcatalog.services.NotificationService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class WebSocketHandler {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final MessageRelay messageRelay;
+    private final boolean legacyTopics;
+
+    public WebSocketHandler(MessageRelay messageRelay,
+                            @Value("${websocket.legacy-topics:false}") boolean legacyTopics) {
+        this.messageRelay = messageRelay;
+        this.legacyTopics = legacyTopics;
+    }
 
     public void sendNotificationToUser(Long userId, Notification notification) {
-        String destination = "/topic/notifications/" + userId;
-        messagingTemplate.convertAndSend(destination, notification);
-        log.info("Notification sent to {}: {}", destination, notification.getId());
+        messageRelay.sendToUser(userId, "/queue/notifications", notification);
+        if (legacyTopics) {
+            messageRelay.send("/topic/notifications/" + userId, notification);
+        }
+        log.info("Notification sent to user {}: {}", userId, notification.getId());
+    }
+
+    public void sendProjectActivity(ProjectActivityDTO activity) {
+        messageRelay.send("/topic/projects/" + activity.getProjectId(), activity);
+    }
+
+    public void sendNotificationCount(Long userId, NotificationService.NotificationCount count) {
+        messageRelay.sendToUser(userId, "/queue/notifications/count", count);
+        if (legacyTopics) {
+            messageRelay.send("/topic/notifications/" + userId + "/count", count);
+        }
     }
 }
@@ -3,6 +3,8 @@ package com.ucsmgy.projectcatalog.controllers;
 import com.ucsmgy.projectcatalog.dtos.ProjectResponseDTO;
 import com.ucsmgy.projectcatalog.dtos.UserDto;
 import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.services.DownloadCache;
+import com.ucsmgy.projectcatalog.services.NotificationExecutor;
 import com.ucsmgy.projectcatalog.services.ProjectService;
 import com.ucsmgy.projectcatalog.services.UserRoleService;
 import com.ucsmgy.projectcatalog.services.UserService;
@@ -24,6 +26,8 @@ public class AdminController {
     private final UserRoleService userRoleService;
     private final UserService userService;
     private final ProjectService projectService;
+    private final DownloadCache downloadCache;
+    private final NotificationExecutor notificationExecutor;
 
     // ===== USER ROLE MANAGEMENT =====
     
@@ -184,4 +188,26 @@ public class AdminController {
         List<ProjectResponseDTO> projects = projectService.getProjectsByApprovalStatus(com.ucsmgy.projectcatalog.entities.Project.ApprovalStatus.APPROVED);
         return ResponseEntity.ok(projects);
     }
+
+    // ===== DIAGNOSTICS =====
+
+    @GetMapping("/download-cache")
+    public ResponseEntity<DownloadCache.Stats> getDownloadCacheStats(@AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.findByEmailEntity(userDetails.getUsername());
+        if (!"ADMIN".equals(currentUser.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(downloadCache.stats());
+    }
+
+    @GetMapping("/notification-executor")
+    public ResponseEntity<NotificationExecutor.Stats> getNotificationExecutorStats(@AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.findByEmailEntity(userDetails.getUsername());
+        if (!"ADMIN".equals(currentUser.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(notificationExecutor.stats());
+    }
 }
@@ -1,6 +1,7 @@
 package com.ucsmgy.projectcatalog.controllers;
 
 import com.ucsmgy.projectcatalog.dtos.CommentDTO;
+import com.ucsmgy.projectcatalog.dtos.CommentPageDTO;
 import com.ucsmgy.projectcatalog.dtos.CommentResponseDTO;
 import com.ucsmgy.projectcatalog.services.CommentService;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,14 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/project/{projectId}/page")
+    public ResponseEntity<CommentPageDTO> getCommentPage(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(commentService.getCommentPage(projectId, cursor, limit));
+    }
+
     @DeleteMapping("/{commentId}")
     public ResponseEntity<Void> deleteComment(@PathVariable Long commentId, @RequestParam Long userId) {
         commentService.deleteComment(commentId, userId);
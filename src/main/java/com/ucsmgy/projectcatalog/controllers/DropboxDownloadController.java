@@ -1,49 +1,184 @@
 package com.ucsmgy.projectcatalog.controllers;
 
 import com.dropbox.core.DbxException;
-import com.dropbox.core.DbxRequestConfig;
-import com.dropbox.core.v2.DbxClientV2;
 import com.dropbox.core.v2.files.FileMetadata;
-import com.dropbox.core.v2.files.DownloadErrorException;
-import org.springframework.beans.factory.annotation.Value;
+import com.ucsmgy.projectcatalog.services.DownloadCache;
+import com.ucsmgy.projectcatalog.services.DropboxStorageService;
+import com.ucsmgy.projectcatalog.util.ByteRange;
+import com.ucsmgy.projectcatalog.util.FileResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@Slf4j
 @RestController
+@RequiredArgsConstructor
 public class DropboxDownloadController {
 
-    @Value("${dropbox.access-token}")
-    private String ACCESS_TOKEN;
-
-    private DbxClientV2 getClient() {
-        DbxRequestConfig config = DbxRequestConfig.newBuilder("project-catalog/1.0").build();
-        return new DbxClientV2(config, ACCESS_TOKEN);
-    }
+    private final DropboxStorageService dropboxStorageService;
+    private final DownloadCache downloadCache;
 
     @GetMapping("/download")
-    public ResponseEntity<byte[]> downloadFile(@RequestParam String path) {
-        DbxClientV2 client = getClient();
+    public ResponseEntity<StreamingResponseBody> downloadFile(
+            @RequestParam String path,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        FileMetadata metadata;
+        try {
+            Optional<FileMetadata> found = dropboxStorageService.getFileMetadata(path);
+            if (found.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            metadata = found.get();
+        } catch (DbxException e) {
+            log.warn("Failed to look up {} in Dropbox", path, e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            FileMetadata metadata = client.files().downloadBuilder(path).download(outputStream);
-            byte[] fileBytes = outputStream.toByteArray();
+        long total = metadata.getSize();
+        String etag = "\"" + metadata.getRev() + "\"";
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + metadata.getName() + "\"")
-                    .body(fileBytes);
+        Optional<ByteRange> resolved = ByteRange.resolve(rangeHeader, ifRange, etag, total);
+        if (resolved.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, ByteRange.unsatisfiedContentRange(total))
+                    .build();
+        }
+        ByteRange range = resolved.get();
 
+        MediaType contentType = MediaTypeFactory.getMediaType(metadata.getName()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        String rev = metadata.getRev();
+        String pathLower = metadata.getPathLower();
+        if (total > 0 && !"HEAD".equalsIgnoreCase(request.getMethod())) {
+            Optional<DownloadCache.Lease> cached = downloadCache.find(pathLower, rev);
+            if (cached.isPresent()) {
+                try (DownloadCache.Lease lease = cached.get()) {
+                    downloadCache.recordServed(range.length());
+                    FileResponses.serve(lease.path(), etag, contentType.toString(), metadata.getName(), request, response);
+                }
+                return null; // FileResponses has written the response
+            }
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(range.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .eTag(etag)
+                .lastModified(metadata.getServerModified().getTime())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(metadata.getName(), StandardCharsets.UTF_8).build().toString())
+                .contentType(contentType)
+                .contentLength(range.length());
+        if (range.partial()) {
+            builder.header(HttpHeaders.CONTENT_RANGE, range.contentRange(total));
+        }
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || range.length() <= 0) {
+            return builder.build();
+        }
+        if (!range.partial()) {
+            return builder.body(out -> fillAndStream(pathLower, rev, total, out));
+        }
+        // A range on a miss (a player seeking, a resumed download) goes straight to Dropbox rather
+        // than waiting for the whole file to be cached.
+        return builder.body(out -> download(pathLower, rev, range.start(), range.length(), out));
+    }
+
+    /**
+     * Streams the whole file to the client while it is written to the cache, so the first byte doesn't
+     * wait for the download to finish. A request that finds another one already filling the cache
+     * waits for it and copies the cached file instead.
+     */
+    private void fillAndStream(String path, String rev, long total, OutputStream out) throws IOException {
+        AtomicBoolean streamed = new AtomicBoolean();
+        Optional<DownloadCache.Lease> cached = downloadCache.get(path, rev, total, cacheOut -> {
+            streamed.set(true);
+            download(path, rev, 0, total, new TeeOutputStream(cacheOut, out));
+        });
+        if (streamed.get()) {
+            cached.ifPresent(DownloadCache.Lease::close);
+            return;
+        }
+        if (cached.isEmpty()) {
+            download(path, rev, 0, total, out);
+            return;
+        }
+        try (DownloadCache.Lease lease = cached.get()) {
+            downloadCache.recordServed(total);
+            Files.copy(lease.path(), out);
+        }
+    }
+
+    private void download(String path, String rev, long start, long length, OutputStream out) throws IOException {
+        try {
+            dropboxStorageService.download(path, rev, start, length, out);
         } catch (DbxException e) {
-            return ResponseEntity.notFound().build();
-        } catch (IOException e) {
-            return ResponseEntity.status(500).build();
+            throw new IOException("Failed to stream " + path + " from Dropbox", e);
+        }
+    }
+
+    // Writes to the cache and the client; a client that goes away doesn't stop the cache from filling.
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream cache;
+        private final OutputStream client;
+        private boolean clientGone;
+
+        private TeeOutputStream(OutputStream cache, OutputStream client) {
+            this.cache = cache;
+            this.client = client;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            cache.write(b, off, len);
+            if (!clientGone) {
+                try {
+                    client.write(b, off, len);
+                } catch (IOException e) {
+                    clientGone = true;
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            cache.flush();
+            if (!clientGone) {
+                try {
+                    client.flush();
+                } catch (IOException e) {
+                    clientGone = true;
+                }
+            }
         }
     }
 }
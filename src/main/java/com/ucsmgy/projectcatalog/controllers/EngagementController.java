@@ -0,0 +1,40 @@
+package com.ucsmgy.projectcatalog.controllers;
+
+import com.ucsmgy.projectcatalog.dtos.ProjectEngagementDTO;
+import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.services.EngagementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/engagement")
+@RequiredArgsConstructor
+public class EngagementController {
+
+    private static final int MAX_PROJECTS = 100;
+
+    private final EngagementService engagementService;
+    private final UserRepository userRepository;
+
+    @GetMapping
+    public ResponseEntity<List<ProjectEngagementDTO>> getEngagement(
+            @RequestParam List<Long> projectIds,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        if (projectIds.size() > MAX_PROJECTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(engagementService.getEngagement(projectIds, user.getId()));
+    }
+}
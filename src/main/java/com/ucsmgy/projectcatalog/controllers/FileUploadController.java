@@ -0,0 +1,93 @@
+package com.ucsmgy.projectcatalog.controllers;
+
+import com.dropbox.core.DbxException;
+import com.ucsmgy.projectcatalog.dtos.CreateUploadRequest;
+import com.ucsmgy.projectcatalog.dtos.FileUploadDTO;
+import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.services.FileUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/uploads")
+@RequiredArgsConstructor
+public class FileUploadController {
+
+    public static final String UPLOAD_OFFSET = "Upload-Offset";
+    public static final String UPLOAD_LENGTH = "Upload-Length";
+
+    private final FileUploadService fileUploadService;
+    private final UserRepository userRepository;
+
+    @PostMapping
+    public ResponseEntity<FileUploadDTO> createUpload(
+            @Valid @RequestBody CreateUploadRequest request,
+            @AuthenticationPrincipal UserDetails userDetails,
+            UriComponentsBuilder uriBuilder) {
+
+        FileUploadDTO upload = fileUploadService.create(request, currentUserId(userDetails));
+        URI uri = uriBuilder.path("/uploads/{id}").buildAndExpand(upload.getId()).toUri();
+        return withOffsetHeaders(ResponseEntity.created(uri), upload).body(upload);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<FileUploadDTO> getUpload(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        FileUploadDTO upload = fileUploadService.get(id, currentUserId(userDetails));
+        return withOffsetHeaders(ResponseEntity.ok(), upload).body(upload);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<FileUploadDTO> appendChunk(
+            @PathVariable String id,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request) throws IOException {
+
+        FileUploadDTO upload = fileUploadService.appendChunk(id, currentUserId(userDetails), offset,
+                request.getContentLengthLong(), request.getInputStream());
+        return withOffsetHeaders(ResponseEntity.ok(), upload).body(upload);
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<FileUploadDTO> completeUpload(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException, DbxException {
+
+        FileUploadDTO upload = fileUploadService.complete(id, currentUserId(userDetails));
+        return withOffsetHeaders(ResponseEntity.ok(), upload).body(upload);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelUpload(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+
+        fileUploadService.cancel(id, currentUserId(userDetails));
+        return ResponseEntity.noContent().build();
+    }
+
+    private Long currentUserId(UserDetails userDetails) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getId();
+    }
+
+    private static ResponseEntity.BodyBuilder withOffsetHeaders(ResponseEntity.BodyBuilder builder, FileUploadDTO upload) {
+        return builder
+                .header(UPLOAD_OFFSET, String.valueOf(upload.getOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(upload.getSize()));
+    }
+}
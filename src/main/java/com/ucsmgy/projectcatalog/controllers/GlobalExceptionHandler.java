@@ -1,11 +1,20 @@
 package com.ucsmgy.projectcatalog.controllers;
 
+import com.ucsmgy.projectcatalog.exceptions.DraftConflictException;
 import com.ucsmgy.projectcatalog.exceptions.DuplicateUserException;
+import com.ucsmgy.projectcatalog.exceptions.EntityNotFoundException;
+import com.ucsmgy.projectcatalog.exceptions.IdempotencyConflictException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidCursorException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidIdempotencyKeyException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidPatchException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidUploadException;
 import com.ucsmgy.projectcatalog.exceptions.InvalidVerificationCodeException;
+import com.ucsmgy.projectcatalog.exceptions.UploadConflictException;
 import com.ucsmgy.projectcatalog.exceptions.UserNotFoundException;
 import com.ucsmgy.projectcatalog.exceptions.VerificationCodeExpiredException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,6 +38,62 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", "User not found."));
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleEntityNotFound(EntityNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidUpload(InvalidUploadException ex) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(UploadConflictException.class)
+    public ResponseEntity<Map<String, String>> handleUploadConflict(UploadConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(FileUploadController.UPLOAD_OFFSET, String.valueOf(ex.getCurrentOffset()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPatch(InvalidPatchException ex) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(DraftConflictException.class)
+    public ResponseEntity<Map<String, String>> handleDraftConflict(DraftConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(String.valueOf(ex.getCurrentVersion()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "The resource was modified concurrently, reload and retry."));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<Map<String, String>> handleAccessDenied(AccessDeniedException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
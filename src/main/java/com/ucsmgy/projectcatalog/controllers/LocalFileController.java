@@ -0,0 +1,47 @@
+package com.ucsmgy.projectcatalog.controllers;
+
+import com.ucsmgy.projectcatalog.entities.StoredFile;
+import com.ucsmgy.projectcatalog.services.LocalStorageService;
+import com.ucsmgy.projectcatalog.util.FileResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/files")
+@RequiredArgsConstructor
+public class LocalFileController {
+
+    private final LocalStorageService localStorageService;
+
+    @GetMapping({"/{sha256}", "/{sha256}/{filename}"})
+    public void serveFile(
+            @PathVariable String sha256,
+            @PathVariable(required = false) String filename,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        Optional<Path> blob = localStorageService.open(sha256);
+        if (blob.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String contentType = localStorageService.describe(sha256)
+                .map(StoredFile::getContentType)
+                .orElse(null);
+
+        // Blobs are immutable: the URL changes whenever the content does.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        FileResponses.serve(blob.get(), "\"" + sha256 + "\"", contentType, filename, request, response);
+    }
+}
@@ -1,31 +1,84 @@
 package com.ucsmgy.projectcatalog.controllers;
 
+import com.ucsmgy.projectcatalog.dtos.NotificationPageDTO;
+import com.ucsmgy.projectcatalog.dtos.NotificationReplayDTO;
 import com.ucsmgy.projectcatalog.entities.Notification;
 import com.ucsmgy.projectcatalog.services.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
 @RequiredArgsConstructor
 public class NotificationController {
 
+    private static final int MAX_BULK_IDS = 1000;
+
     private final NotificationService notificationService;
 
     @GetMapping
-    public ResponseEntity<List<Notification>> getUserNotifications() {
+    public ResponseEntity<List<Notification>> getUserNotifications(@RequestParam(defaultValue = "50") int limit) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userEmail = authentication.getName();
         
-        List<Notification> notifications = notificationService.getUserNotifications(userEmail);
+        List<Notification> notifications = notificationService.getUserNotifications(userEmail, limit);
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<NotificationPageDTO> getNotificationPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userEmail = authentication.getName();
+
+        return ResponseEntity.ok(notificationService.getNotificationPage(userEmail, cursor, limit, unreadOnly));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userEmail = authentication.getName();
+
+        return notificationService.openStream(userEmail, lastEventId);
+    }
+
+    @GetMapping("/missed")
+    public ResponseEntity<NotificationReplayDTO> getMissedNotifications(@RequestParam long after) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userEmail = authentication.getName();
+
+        return ResponseEntity.ok(notificationService.getMissedNotifications(userEmail, after));
+    }
+
+    /**
+     * STOMP counterpart of {@code /missed}: after reconnecting and subscribing, clients send to
+     * {@code /app/notifications/replay/{lastSeenId}} and receive the replay on
+     * {@code /user/queue/notifications/replay}.
+     */
+    @MessageMapping("/notifications/replay/{lastSeenId}")
+    @SendToUser(destinations = "/queue/notifications/replay", broadcast = false)
+    public NotificationReplayDTO replayMissedNotifications(@DestinationVariable long lastSeenId, Principal principal) {
+        if (principal == null) {
+            throw new AccessDeniedException("Connect with a token to replay notifications");
+        }
+        return notificationService.getMissedNotifications(Long.valueOf(principal.getName()), lastSeenId);
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -35,13 +88,25 @@ public class NotificationController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/read")
+    public ResponseEntity<Map<String, Integer>> markManyAsRead(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userEmail = authentication.getName();
+
+        int updated = notificationService.markAsRead(ids, userEmail);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
     @PutMapping("/read-all")
-    public ResponseEntity<Void> markAllAsRead() {
+    public ResponseEntity<Map<String, Integer>> markAllAsRead() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String userEmail = authentication.getName();
         
-        notificationService.markAllAsRead(userEmail);
-        return ResponseEntity.ok().build();
+        int updated = notificationService.markAllAsRead(userEmail);
+        return ResponseEntity.ok(Map.of("updated", updated));
     }
 
     @DeleteMapping("/{id}")
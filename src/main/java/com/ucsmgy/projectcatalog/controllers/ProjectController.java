@@ -7,16 +7,22 @@ import com.ucsmgy.projectcatalog.dtos.ProjectRequestDTO;
 import com.ucsmgy.projectcatalog.dtos.ProjectResponseDTO;
 import com.ucsmgy.projectcatalog.entities.User;
 import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.services.IdempotencyService;
+import com.ucsmgy.projectcatalog.services.ProjectArchiveService;
 import com.ucsmgy.projectcatalog.services.ProjectService;
+import com.ucsmgy.projectcatalog.services.TrendingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
@@ -33,10 +39,14 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final UserRepository userRepository;
+    private final IdempotencyService idempotencyService;
+    private final ProjectArchiveService projectArchiveService;
+    private final TrendingService trendingService;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ProjectResponseDTO> create(
             @ModelAttribute ProjectRequestDTO dto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal UserDetails userDetails,
             UriComponentsBuilder uriBuilder) throws JsonProcessingException {
 
@@ -51,7 +61,10 @@ public class ProjectController {
             membersMap = mapper.readValue(dto.getMembersJson(), new TypeReference<Map<String, String>>() {});
         }
 
-        ProjectResponseDTO createdProject = projectService.create(dto, userId, membersMap);
+        Map<String, String> members = membersMap;
+        String fingerprint = idempotencyService.fingerprint("POST", "/projects", dto, members);
+        ProjectResponseDTO createdProject = idempotencyService.execute(userId, idempotencyKey, fingerprint,
+                ProjectResponseDTO.class, () -> projectService.create(dto, userId, members));
 
         URI uri = uriBuilder
                 .path("/projects/{id}")
@@ -71,6 +84,7 @@ public class ProjectController {
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ProjectResponseDTO> update(
             @PathVariable Long id,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal UserDetails userDetails,
             @ModelAttribute ProjectRequestDTO dto) throws JsonProcessingException {
 
@@ -85,15 +99,35 @@ public class ProjectController {
 
         Long userId = user.getId();
 
-        ProjectResponseDTO updatedProject = projectService.update(id,userId, dto , membersMap);
+        Map<String, String> members = membersMap;
+        String fingerprint = idempotencyService.fingerprint("PUT", "/projects/" + id, dto, members);
+        ProjectResponseDTO updatedProject = idempotencyService.execute(userId, idempotencyKey, fingerprint,
+                ProjectResponseDTO.class, () -> projectService.update(id, userId, dto, members));
         return ResponseEntity.ok(updatedProject);
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<List<ProjectResponseDTO>> getTrending(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(departmentId, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponseDTO> getById(@PathVariable Long id) {
         return ResponseEntity.ok(projectService.getById(id));
     }
 
+    @GetMapping("/{id}/files.zip")
+    public ResponseEntity<StreamingResponseBody> downloadFiles(@PathVariable Long id) {
+        List<String> files = projectArchiveService.listFiles(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("project-" + id + "-files.zip").build().toString())
+                .body(out -> projectArchiveService.writeArchive(files, out));
+    }
+
     @GetMapping
     public ResponseEntity<Page<ProjectResponseDTO>> getAll(
             @RequestParam(defaultValue = "0") int page,
@@ -0,0 +1,104 @@
+package com.ucsmgy.projectcatalog.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ucsmgy.projectcatalog.dtos.ProjectDraftDTO;
+import com.ucsmgy.projectcatalog.dtos.ProjectResponseDTO;
+import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.exceptions.InvalidPatchException;
+import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.services.ProjectDraftService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/projects/drafts")
+@RequiredArgsConstructor
+public class ProjectDraftController {
+
+    public static final String JSON_PATCH = "application/json-patch+json";
+
+    private final ProjectDraftService projectDraftService;
+    private final UserRepository userRepository;
+
+    @PostMapping
+    public ResponseEntity<ProjectDraftDTO> createDraft(
+            @RequestParam(required = false) Long projectId,
+            @RequestBody(required = false) JsonNode content,
+            @AuthenticationPrincipal UserDetails userDetails,
+            UriComponentsBuilder uriBuilder) {
+
+        ProjectDraftDTO draft = projectDraftService.create(currentUserId(userDetails), projectId, content);
+        URI uri = uriBuilder.path("/projects/drafts/{id}").buildAndExpand(draft.getId()).toUri();
+        return ResponseEntity.created(uri).eTag(String.valueOf(draft.getVersion())).body(draft);
+    }
+
+    @GetMapping
+    public List<ProjectDraftDTO> getDrafts(@AuthenticationPrincipal UserDetails userDetails) {
+        return projectDraftService.getAll(currentUserId(userDetails));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProjectDraftDTO> getDraft(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        ProjectDraftDTO draft = projectDraftService.get(id, currentUserId(userDetails));
+        return ResponseEntity.ok().eTag(String.valueOf(draft.getVersion())).body(draft);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {JSON_PATCH, "application/json"})
+    public ResponseEntity<Void> patchDraft(
+            @PathVariable Long id,
+            @RequestHeader("If-Match") String ifMatch,
+            @RequestBody JsonNode patch,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        long version = projectDraftService.patch(id, currentUserId(userDetails), parseVersion(ifMatch), patch);
+        return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+    }
+
+    @PostMapping("/{id}/submit")
+    public ResponseEntity<ProjectResponseDTO> submitDraft(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(projectDraftService.submit(id, currentUserId(userDetails)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteDraft(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        projectDraftService.delete(id, currentUserId(userDetails));
+        return ResponseEntity.noContent().build();
+    }
+
+    private Long currentUserId(UserDetails userDetails) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getId();
+    }
+
+    private static long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new InvalidPatchException("If-Match must carry the draft version ETag");
+        }
+    }
+}
@@ -16,7 +16,9 @@ public class ReactionController {
 
     @PostMapping("/toggle")
     public ResponseEntity<ReactionResponseDTO> toggleReaction(@RequestBody ReactionDTO dto) {
-        ReactionResponseDTO response = reactionService.toggleReaction(dto.getProjectId(), dto.getUserId());
+        ReactionResponseDTO response = dto.getReacted() != null
+                ? reactionService.setReaction(dto.getProjectId(), dto.getUserId(), dto.getReacted())
+                : reactionService.toggleReaction(dto.getProjectId(), dto.getUserId());
         return ResponseEntity.ok(response);
     }
 
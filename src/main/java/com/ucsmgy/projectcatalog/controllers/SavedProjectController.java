@@ -1,6 +1,7 @@
 package com.ucsmgy.projectcatalog.controllers;
 
 import com.ucsmgy.projectcatalog.dtos.SavedProjectDTO;
+import com.ucsmgy.projectcatalog.dtos.SavedProjectPageDTO;
 import com.ucsmgy.projectcatalog.dtos.SavedProjectResponseDTO;
 import com.ucsmgy.projectcatalog.services.SavedProjectService;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,14 @@ public class SavedProjectController {
         return ResponseEntity.ok(savedProjects);
     }
 
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<SavedProjectPageDTO> getSavedProjectPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(savedProjectService.getSavedProjectPage(userId, cursor, limit));
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> removeSavedProject(@RequestParam Long projectId, @RequestParam Long userId) {
         savedProjectService.removeSavedProject(projectId, userId);
@@ -0,0 +1,14 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CommentPageDTO {
+    private List<CommentResponseDTO> comments;
+    private String nextCursor;
+    private long totalComments;
+}
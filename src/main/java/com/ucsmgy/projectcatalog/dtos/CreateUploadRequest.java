@@ -0,0 +1,18 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class CreateUploadRequest {
+    @NotBlank
+    private String filename;
+
+    private String contentType;
+
+    @NotNull
+    @Positive
+    private Long size;
+}
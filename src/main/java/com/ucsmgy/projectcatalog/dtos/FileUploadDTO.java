@@ -0,0 +1,16 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FileUploadDTO {
+    private String id;
+    private String filename;
+    private String contentType;
+    private long size;
+    private long offset;
+    private String status;
+    private String fileUrl;
+}
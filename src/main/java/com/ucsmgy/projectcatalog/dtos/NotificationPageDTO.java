@@ -0,0 +1,14 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import com.ucsmgy.projectcatalog.entities.Notification;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class NotificationPageDTO {
+    private List<Notification> notifications;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import com.ucsmgy.projectcatalog.entities.Notification;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class NotificationReplayDTO {
+    private List<Notification> notifications;
+    // False when more was missed than one replay returns; the client should reload its inbox instead.
+    private boolean complete;
+}
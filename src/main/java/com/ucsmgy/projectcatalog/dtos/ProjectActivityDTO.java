@@ -0,0 +1,16 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ProjectActivityDTO {
+    private Long projectId;
+    private Long reactionCount;
+    private Long commentCount;
+    private List<CommentResponseDTO> newComments;
+    private List<Long> deletedCommentIds;
+}
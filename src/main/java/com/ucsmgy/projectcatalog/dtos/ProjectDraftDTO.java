@@ -0,0 +1,17 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ProjectDraftDTO {
+    private Long id;
+    private Long projectId;
+    private long version;
+    private JsonNode content;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ProjectEngagementDTO {
+    private Long projectId;
+    private long totalReactions;
+    private boolean reacted;
+    private boolean saved;
+}
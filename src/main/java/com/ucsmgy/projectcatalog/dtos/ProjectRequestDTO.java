@@ -24,6 +24,7 @@ public class ProjectRequestDTO {
     private Long supervisorId;
     private String approvalStatus;
     private List<MultipartFile> projectFiles;
+    private List<String> uploadIds;
     private List<String> tags;
     private String tagsJson;
     private String membersJson;
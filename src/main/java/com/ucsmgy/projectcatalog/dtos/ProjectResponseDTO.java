@@ -1,7 +1,9 @@
 package com.ucsmgy.projectcatalog.dtos;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
@@ -12,6 +14,8 @@ import java.util.Map;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProjectResponseDTO {
     private Long id;
     private String title;
@@ -22,6 +26,11 @@ public class ProjectResponseDTO {
     private String contentFormat;
     private String githubLink;
     private String coverImageUrl;
+    private String coverCardUrl;
+    private String coverThumbUrl;
+    private String coverPlaceholder;
+    private long reactionCount;
+    private long commentCount;
     private String academic_year;
     private String student_year;
     private String objectives;
@@ -8,4 +8,5 @@ import java.time.LocalDateTime;
 public class ReactionDTO {
     private Long projectId;
     private Long userId;
+    private Boolean reacted;
 }
\ No newline at end of file
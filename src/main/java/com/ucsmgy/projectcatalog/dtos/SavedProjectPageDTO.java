@@ -0,0 +1,13 @@
+package com.ucsmgy.projectcatalog.dtos;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SavedProjectPageDTO {
+    private List<SavedProjectResponseDTO> savedProjects;
+    private String nextCursor;
+}
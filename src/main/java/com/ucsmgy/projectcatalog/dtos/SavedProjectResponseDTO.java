@@ -1,5 +1,6 @@
 package com.ucsmgy.projectcatalog.dtos;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,6 +8,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class SavedProjectResponseDTO {
     private Long projectId;
     private String projectTitle;
@@ -15,6 +17,8 @@ public class SavedProjectResponseDTO {
     private Long departmentId;
     private Long courseId;
     private String coverImageUrl;
+    private String coverThumbUrl;
+    private String coverPlaceholder;
     private String academic_year;
     private String student_year;
     private LocalDateTime savedAt;
@@ -13,6 +13,9 @@ public class UserDto {
     private String name;
     private String email;
     private String avatarUrl;
+    private String avatarMediumUrl;
+    private String avatarThumbUrl;
+    private String avatarPlaceholder;
     private String bio;
     private String role;
     @JsonProperty("is_active")
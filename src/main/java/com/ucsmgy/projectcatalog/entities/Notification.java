@@ -1,9 +1,12 @@
 package com.ucsmgy.projectcatalog.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 
@@ -53,4 +56,16 @@ public class Notification {
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt = Instant.now();
+
+    @Column(name = "actor_count", nullable = false)
+    private int actorCount = 1;
+
+    // Distinct users folded into this notification, so a repeat actor doesn't raise actorCount.
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "actor_ids", nullable = false)
+    private Long[] actorIds = new Long[0];
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
\ No newline at end of file
@@ -49,9 +49,25 @@ public class Project {
     @Column(name = "cover_image_url", length = 255)
     private String coverImageUrl;
 
+    @Column(name = "cover_card_url", length = 255)
+    private String coverCardUrl;
+
+    @Column(name = "cover_thumb_url", length = 255)
+    private String coverThumbUrl;
+
+    @Column(name = "cover_placeholder", columnDefinition = "TEXT")
+    private String coverPlaceholder;
+
     @Column(length = 500)
     private String excerpt;
 
+    // Maintained by ReactionCounterService; never written through the entity.
+    @Column(name = "reaction_count", insertable = false, updatable = false)
+    private long reactionCount;
+
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private long commentCount;
+
     @Column(name = "academic_year")
     private String academic_year;
 
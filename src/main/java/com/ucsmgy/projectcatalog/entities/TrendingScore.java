@@ -0,0 +1,28 @@
+package com.ucsmgy.projectcatalog.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "trending_scores")
+public class TrendingScore {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -35,6 +35,15 @@ public class User {
     @Column(name = "avatar_url", length = 255)
     private String avatarUrl;
 
+    @Column(name = "avatar_medium_url", length = 255)
+    private String avatarMediumUrl;
+
+    @Column(name = "avatar_thumb_url", length = 255)
+    private String avatarThumbUrl;
+
+    @Column(name = "avatar_placeholder", columnDefinition = "TEXT")
+    private String avatarPlaceholder;
+
     @Column(columnDefinition = "TEXT")
     private String bio;
 
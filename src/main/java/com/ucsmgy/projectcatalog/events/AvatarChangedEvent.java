@@ -0,0 +1,16 @@
+package com.ucsmgy.projectcatalog.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class AvatarChangedEvent extends ApplicationEvent {
+    private final Long userId;
+    private final String avatarUrl;
+
+    public AvatarChangedEvent(Object source, Long userId, String avatarUrl) {
+        super(source);
+        this.userId = userId;
+        this.avatarUrl = avatarUrl;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ucsmgy.projectcatalog.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class CoverImageChangedEvent extends ApplicationEvent {
+    private final Long projectId;
+    private final String coverImageUrl;
+
+    public CoverImageChangedEvent(Object source, Long projectId, String coverImageUrl) {
+        super(source);
+        this.projectId = projectId;
+        this.coverImageUrl = coverImageUrl;
+    }
+}
@@ -1,18 +1,21 @@
 package com.ucsmgy.projectcatalog.events;
 
 import com.ucsmgy.projectcatalog.entities.Notification;
-import com.ucsmgy.projectcatalog.services.NotificationService;
+import com.ucsmgy.projectcatalog.services.NotificationOutboxHandler;
+import com.ucsmgy.projectcatalog.services.OutboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+/**
+ * Turns domain events into notifications. Runs synchronously in the publisher's transaction and only
+ * writes to the outbox; {@link NotificationOutboxHandler} delivers once that transaction commits.
+ */
 @Component
 @RequiredArgsConstructor
 public class NotificationEventListener {
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
 
-    @Async
     @EventListener
     public void handleCommentCreated(CommentCreatedEvent event) {
         if (!"ADMIN".equalsIgnoreCase(event.getProjectOwnerRole())) {
@@ -25,11 +28,10 @@ public class NotificationEventListener {
             notification.setCommentText(event.getCommentText());
             notification.setCommenterName(event.getCommenterName());
 
-            notificationService.saveAndSendNotification(notification);
+            outboxService.enqueue(NotificationOutboxHandler.NOTIFICATION, "comment:" + event.getCommentId(), notification);
         }
     }
 
-    @Async
     @EventListener
     public void handleProjectApproved(ProjectApprovedEvent event) {
         Notification notification = new Notification();
@@ -40,10 +42,9 @@ public class NotificationEventListener {
         notification.setProjectTitle(event.getProjectTitle());
         notification.setApproverName(event.getApproverName());
 
-        notificationService.saveAndSendNotification(notification);
+        outboxService.enqueue(NotificationOutboxHandler.NOTIFICATION, null, notification);
     }
 
-    @Async
     @EventListener
     public void handleProjectRejected(ProjectRejectedEvent event) {
         Notification notification = new Notification();
@@ -54,24 +55,15 @@ public class NotificationEventListener {
         notification.setProjectTitle(event.getProjectTitle());
         notification.setRejectionReason(event.getRejectionReason());
 
-        notificationService.saveAndSendNotification(notification);
+        outboxService.enqueue(NotificationOutboxHandler.NOTIFICATION, null, notification);
     }
 
-    @Async
     @EventListener
     public void handleReaction(ReactionEvent event) {
-        Notification notification = new Notification();
-        notification.setRecipientUserId(event.getProjectOwnerId());
-        notification.setMessage("Your project '" + event.getProjectTitle() + "' is reacted by" + event.getReactorName());
-        notification.setProjectId(event.getProjectId());
-        notification.setNotificationType("REACTION");
-        notification.setProjectTitle(event.getProjectTitle());
-        notification.setRejectionReason(null);
-
-        notificationService.saveAndSendNotification(notification);
+        outboxService.enqueue(NotificationOutboxHandler.REACTION, "reaction:" + event.getReactionId(),
+                new NotificationOutboxHandler.ReactionPayload(event.getProjectId(), event.getReactorId()));
     }
 
-    @Async
     @EventListener
     public void handleProjectSubmit(ProjectSubmitEvent event) {
         Notification notification = new Notification();
@@ -82,7 +74,6 @@ public class NotificationEventListener {
         notification.setProjectTitle(event.getProjectTitle());
         notification.setRejectionReason(null);
 
-        notificationService.saveAndSendNotification(notification);
+        outboxService.enqueue(NotificationOutboxHandler.NOTIFICATION, null, notification);
     }
 }
-
@@ -0,0 +1,18 @@
+package com.ucsmgy.projectcatalog.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.context.ApplicationEvent;
+
+@Setter
+@Getter
+public class ProjectSavedEvent extends ApplicationEvent {
+    private final Long projectId;
+    private final Long userId;
+
+    public ProjectSavedEvent(Object source, Long projectId, Long userId) {
+        super(source);
+        this.projectId = projectId;
+        this.userId = userId;
+    }
+}
@@ -8,17 +8,13 @@ import org.springframework.context.ApplicationEvent;
 @Getter
 public class ReactionEvent extends ApplicationEvent {
     private final Long projectId;
-    private final Long projectOwnerId;
+    private final Long reactorId;
     private final Long reactionId;
-    private final String projectTitle;
-    private final String reactorName;
 
-    public ReactionEvent(Object source, Long projectId, Long projectOwnerId,Long reactionId, String projectTitle, String reactorName) {
+    public ReactionEvent(Object source, Long projectId, Long reactorId, Long reactionId) {
         super(source);
         this.projectId = projectId;
-        this.projectOwnerId = projectOwnerId;
+        this.reactorId = reactorId;
         this.reactionId = reactionId;
-        this.projectTitle = projectTitle;
-        this.reactorName = reactorName;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.ucsmgy.projectcatalog.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class DraftConflictException extends RuntimeException {
+    private final long currentVersion;
+
+    public DraftConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+}
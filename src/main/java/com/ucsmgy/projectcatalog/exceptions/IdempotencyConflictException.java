@@ -0,0 +1,7 @@
+package com.ucsmgy.projectcatalog.exceptions;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
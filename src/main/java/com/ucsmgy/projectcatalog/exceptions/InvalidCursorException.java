@@ -0,0 +1,7 @@
+package com.ucsmgy.projectcatalog.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
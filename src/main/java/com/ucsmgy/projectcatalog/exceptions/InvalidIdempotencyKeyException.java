@@ -0,0 +1,7 @@
+package com.ucsmgy.projectcatalog.exceptions;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ucsmgy.projectcatalog.exceptions;
+
+public class InvalidPatchException extends RuntimeException {
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+}
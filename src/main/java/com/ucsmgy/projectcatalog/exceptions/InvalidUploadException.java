@@ -0,0 +1,7 @@
+package com.ucsmgy.projectcatalog.exceptions;
+
+public class InvalidUploadException extends RuntimeException {
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
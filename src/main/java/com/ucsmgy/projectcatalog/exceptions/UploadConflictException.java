@@ -0,0 +1,13 @@
+package com.ucsmgy.projectcatalog.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class UploadConflictException extends RuntimeException {
+    private final long currentOffset;
+
+    public UploadConflictException(String message, long currentOffset) {
+        super(message);
+        this.currentOffset = currentOffset;
+    }
+}
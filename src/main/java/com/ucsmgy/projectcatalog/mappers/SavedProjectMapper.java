@@ -23,6 +23,8 @@ public interface SavedProjectMapper {
     @Mapping(source = "project.department.id" ,target = "departmentId")
     @Mapping(source = "project.course.id" ,target = "courseId")
     @Mapping(source = "project.coverImageUrl" ,target = "coverImageUrl")
+    @Mapping(source = "project.coverThumbUrl" ,target = "coverThumbUrl")
+    @Mapping(source = "project.coverPlaceholder" ,target = "coverPlaceholder")
     @Mapping(source = "project.academic_year" ,target = "academic_year")
     @Mapping(source = "project.student_year" ,target = "student_year")
     @Mapping(source = "project.description", target ="projectDescription")
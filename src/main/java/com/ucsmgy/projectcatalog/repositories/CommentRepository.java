@@ -1,10 +1,30 @@
 package com.ucsmgy.projectcatalog.repositories;
 
 import com.ucsmgy.projectcatalog.entities.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByProjectIdOrderByCreatedAtDesc(Long projectId);
-}
\ No newline at end of file
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.project.id = :projectId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findAllByProjectIdOrderByCreatedAtDesc(@Param("projectId") Long projectId);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.project.id = :projectId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findLatestByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.project.id = :projectId " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findByProjectIdBefore(@Param("projectId") Long projectId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("SELECT c.user.id FROM Comment c WHERE c.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+}
@@ -0,0 +1,15 @@
+package com.ucsmgy.projectcatalog.repositories;
+
+import com.ucsmgy.projectcatalog.entities.FileUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FileUploadRepository extends JpaRepository<FileUpload, String> {
+    Optional<FileUpload> findByIdAndUserId(String id, Long userId);
+    List<FileUpload> findByStatusAndUpdatedAtBefore(FileUpload.Status status, LocalDateTime cutoff);
+}
@@ -0,0 +1,41 @@
+package com.ucsmgy.projectcatalog.repositories;
+
+import com.ucsmgy.projectcatalog.entities.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.lockedUntil = :until " +
+            "WHERE k.id IN :ids AND k.status = com.ucsmgy.projectcatalog.entities.IdempotencyKey.Status.IN_PROGRESS")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    /**
+     * Deletes an in-progress key whose owner stopped renewing its lease.
+     *
+     * @return 0 if the lease is still held or the key is gone
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id " +
+            "AND k.status = com.ucsmgy.projectcatalog.entities.IdempotencyKey.Status.IN_PROGRESS " +
+            "AND (k.lockedUntil IS NULL OR k.lockedUntil < :now)")
+    int deleteIfLeaseExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,48 @@
+package com.ucsmgy.projectcatalog.repositories;
+
+import com.ucsmgy.projectcatalog.entities.NotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count, total_count) " +
+            "VALUES (:userId, GREATEST(:unreadDelta, 0), GREATEST(:totalDelta, 0)) " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "unread_count = GREATEST(notification_counters.unread_count + :unreadDelta, 0), " +
+            "total_count = GREATEST(notification_counters.total_count + :totalDelta, 0)", nativeQuery = true)
+    int adjust(@Param("userId") Long userId, @Param("unreadDelta") long unreadDelta, @Param("totalDelta") long totalDelta);
+
+    @Modifying
+    @Query(value = "UPDATE notification_counters SET unread_count = 0, total_count = 0 WHERE user_id = :userId", nativeQuery = true)
+    int reset(@Param("userId") Long userId);
+
+    @Query("SELECT c FROM NotificationCounter c, User u WHERE u.email = :email AND c.userId = u.id")
+    Optional<NotificationCounter> findByUserEmail(@Param("email") String email);
+
+    List<NotificationCounter> findByUserIdIn(Collection<Long> userIds);
+
+    /**
+     * Recounts every user's counters from the notifications table.
+     *
+     * @return how many counters were created or corrected
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count, total_count) " +
+            "SELECT u.id, COALESCE(n.unread, 0), COALESCE(n.total, 0) FROM users u " +
+            "LEFT JOIN (SELECT recipient_user_id, COUNT(*) FILTER (WHERE NOT is_read) AS unread, COUNT(*) AS total " +
+            "FROM notifications GROUP BY recipient_user_id) n ON n.recipient_user_id = u.id " +
+            "ON CONFLICT (user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count, total_count = EXCLUDED.total_count " +
+            "WHERE notification_counters.unread_count <> EXCLUDED.unread_count " +
+            "OR notification_counters.total_count <> EXCLUDED.total_count", nativeQuery = true)
+    int reconcile();
+}
@@ -2,22 +2,116 @@ package com.ucsmgy.projectcatalog.repositories;
 
 import com.ucsmgy.projectcatalog.entities.Notification;
 import org.hibernate.search.mapper.pojo.common.annotation.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByRecipientUserIdOrderByCreatedAtDesc(Long recipientUserId);
-    List<Notification> findByRecipientUserIdAndIsReadFalse(Long recipientUserId);
+    List<Notification> findByRecipientUserIdOrderByCreatedAtDescIdDesc(Long recipientUserId, Limit limit);
+    List<Notification> findByRecipientUserIdAndIsReadFalseOrderByCreatedAtDescIdDesc(Long recipientUserId, Limit limit);
+
+    // The redundant createdAt <= :createdAt lets Postgres skip newer partitions outright.
+    @Query("SELECT n FROM Notification n WHERE n.recipientUserId = :recipientUserId AND n.createdAt <= :createdAt " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxBefore(@Param(name = "", value = "recipientUserId") Long recipientUserId,
+                                       @Param(name = "", value = "createdAt") Instant createdAt,
+                                       @Param(name = "", value = "id") Long id,
+                                       Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.recipientUserId = :recipientUserId AND n.isRead = false " +
+            "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadInboxBefore(@Param(name = "", value = "recipientUserId") Long recipientUserId,
+                                             @Param(name = "", value = "createdAt") Instant createdAt,
+                                             @Param(name = "", value = "id") Long id,
+                                             Limit limit);
+
+    Optional<Notification> findFirstByRecipientUserIdAndIdLessThanEqualOrderByIdDesc(Long recipientUserId, Long id);
+
+    /**
+     * Notifications created after {@code afterId} or at or after {@code createdSince}, plus older ones
+     * aggregated into since {@code updatedSince}. All must have been created after {@code createdAfter},
+     * which limits the scan to recent partitions.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.recipientUserId = :recipientUserId AND n.createdAt >= :createdAfter " +
+            "AND (n.id > :afterId OR n.createdAt >= :createdSince OR n.updatedAt > :updatedSince) ORDER BY n.id")
+    List<Notification> findChangedSince(@Param(name = "", value = "recipientUserId") Long recipientUserId,
+                                        @Param(name = "", value = "afterId") Long afterId,
+                                        @Param(name = "", value = "createdSince") Instant createdSince,
+                                        @Param(name = "", value = "updatedSince") Instant updatedSince,
+                                        @Param(name = "", value = "createdAfter") Instant createdAfter,
+                                        Limit limit);
+
     Optional<Notification> findByIdAndRecipientUserId(Long id, Long recipientUserId);
     long countByRecipientUserId(Long recipientUserId);
     long countByRecipientUserIdAndIsReadFalse(Long recipientUserId);
+    boolean existsByIdAndRecipientUserId(Long id, Long recipientUserId);
+
+    /**
+     * Marks the given notifications of the user with {@code email} read in one statement.
+     *
+     * @return the recipient ID once per notification that was unread
+     */
+    @Query(value = "UPDATE notifications n SET is_read = TRUE FROM users u " +
+            "WHERE n.id IN (:ids) AND n.recipient_user_id = u.id AND u.email = :email AND n.is_read = FALSE " +
+            "RETURNING n.recipient_user_id", nativeQuery = true)
+    List<Long> markReadByIdsAndEmail(@Param(name = "", value = "ids") Collection<Long> ids,
+                                     @Param(name = "", value = "email") String email);
+
+    /**
+     * @return the deleted notification's recipient ID and read flag, or nothing if it isn't the user's
+     */
+    @Query(value = "DELETE FROM notifications n USING users u " +
+            "WHERE n.id = :id AND n.recipient_user_id = u.id AND u.email = :email " +
+            "RETURNING n.recipient_user_id, n.is_read", nativeQuery = true)
+    List<Object[]> deleteByIdAndEmail(@Param(name = "", value = "id") Long id,
+                                      @Param(name = "", value = "email") String email);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipientUserId = :userId AND n.isRead = false")
+    int markAllReadByRecipientUserId(@Param(name = "", value = "userId") Long userId);
+
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.recipientUserId = :userId")
     void deleteByRecipientUserId(@Param(name = "userId", value = "userId") Long userId);
-}
\ No newline at end of file
+
+    @Query("SELECT n FROM Notification n WHERE n.recipientUserId = :recipientUserId AND n.projectId = :projectId " +
+            "AND n.notificationType = :notificationType AND n.isRead = false AND n.createdAt >= :since " +
+            "ORDER BY n.createdAt DESC")
+    List<Notification> findCoalescible(@Param(name = "", value = "recipientUserId") Long recipientUserId,
+                                       @Param(name = "", value = "projectId") Long projectId,
+                                       @Param(name = "", value = "notificationType") String notificationType,
+                                       @Param(name = "", value = "since") Instant since,
+                                       Limit limit);
+
+    // Serializes coalescing per (recipient, project) so a burst can't open two aggregate rows. The pair is
+    // hashed into one bigint key, so ids of any size fit; a collision only makes two pairs wait on each other.
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(" +
+            "CAST(:recipientUserId AS TEXT) || ':' || CAST(:projectId AS TEXT), 0))) l", nativeQuery = true)
+    Integer lockRecipientProject(@Param(name = "", value = "recipientUserId") Long recipientUserId,
+                                 @Param(name = "", value = "projectId") Long projectId);
+
+    // Creates the month's partition if it doesn't exist yet and returns its name.
+    @Query(value = "SELECT create_notification_partition(CAST(:month AS DATE))", nativeQuery = true)
+    String createPartition(@Param(name = "", value = "month") LocalDate month);
+
+    /**
+     * Detaches the monthly partitions that end on or before {@code cutoff}, archiving or dropping them.
+     * Unread notifications are moved to the default partition first and stay in the inbox.
+     *
+     * @return the names of the detached partitions
+     */
+    @Query(value = "SELECT expire_notification_partitions(:cutoff, :archive)", nativeQuery = true)
+    List<String> expirePartitions(@Param(name = "", value = "cutoff") Instant cutoff,
+                                  @Param(name = "", value = "archive") boolean archive);
+}
@@ -0,0 +1,72 @@
+package com.ucsmgy.projectcatalog.repositories;
+
+import com.ucsmgy.projectcatalog.entities.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * @return 0 if an event with the same dedupe key was already written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events (event_type, dedupe_key, payload) VALUES (:eventType, :dedupeKey, :payload) " +
+            "ON CONFLICT (dedupe_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventType") String eventType,
+                       @Param("dedupeKey") String dedupeKey,
+                       @Param("payload") String payload);
+
+    /**
+     * Leases up to {@code batchSize} due events to the caller. Rows locked by another node's claim are
+     * skipped rather than waited for; a lease that expires makes the event claimable again.
+     */
+    @Transactional
+    @Query(value = "UPDATE outbox_events SET " +
+            "locked_until = CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds) " +
+            "WHERE id IN (SELECT id FROM outbox_events WHERE status = 'PENDING' AND available_at <= CURRENT_TIMESTAMP " +
+            "AND (locked_until IS NULL OR locked_until < CURRENT_TIMESTAMP) " +
+            "ORDER BY available_at, id LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("batchSize") int batchSize, @Param("leaseSeconds") double leaseSeconds);
+
+    /**
+     * Counts a delivery attempt as its handler starts and renews the lease from now, so time spent
+     * queued neither uses up attempts nor eats into the handler's lease.
+     *
+     * @return the attempt number, or empty if the event is no longer pending
+     */
+    @Transactional
+    @Query(value = "UPDATE outbox_events SET attempts = attempts + 1, " +
+            "locked_until = CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds) " +
+            "WHERE id = :id AND status = 'PENDING' RETURNING attempts", nativeQuery = true)
+    Optional<Integer> startAttempt(@Param("id") Long id, @Param("leaseSeconds") double leaseSeconds);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET status = 'DONE', processed_at = CURRENT_TIMESTAMP, locked_until = NULL " +
+            "WHERE id = :id AND status = 'PENDING'", nativeQuery = true)
+    int markDone(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET available_at = CURRENT_TIMESTAMP + make_interval(secs => :delaySeconds), " +
+            "locked_until = NULL, last_error = :error WHERE id = :id AND status = 'PENDING'", nativeQuery = true)
+    int scheduleRetry(@Param("id") Long id, @Param("delaySeconds") double delaySeconds, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET status = 'FAILED', processed_at = CURRENT_TIMESTAMP, locked_until = NULL, " +
+            "last_error = :error WHERE id = :id AND status = 'PENDING'", nativeQuery = true)
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE status = 'DONE' " +
+            "AND processed_at < CURRENT_TIMESTAMP - make_interval(secs => :retentionSeconds)", nativeQuery = true)
+    int deleteProcessedBefore(@Param("retentionSeconds") double retentionSeconds);
+}
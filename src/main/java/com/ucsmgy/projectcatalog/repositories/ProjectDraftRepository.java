@@ -0,0 +1,15 @@
+package com.ucsmgy.projectcatalog.repositories;
+
+import com.ucsmgy.projectcatalog.entities.ProjectDraft;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectDraftRepository extends JpaRepository<ProjectDraft, Long> {
+    Optional<ProjectDraft> findByIdAndUserId(Long id, Long userId);
+    Optional<ProjectDraft> findByUserIdAndProjectId(Long userId, Long projectId);
+    List<ProjectDraft> findByUserIdOrderByUpdatedAtDesc(Long userId);
+}
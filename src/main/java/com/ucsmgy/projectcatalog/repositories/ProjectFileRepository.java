@@ -0,0 +1,15 @@
+package com.ucsmgy.projectcatalog.repositories;
+
+import com.ucsmgy.projectcatalog.entities.ProjectFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectFileRepository extends JpaRepository<ProjectFile, Long> {
+    @Query("SELECT f.filePath FROM ProjectFile f WHERE f.project.id = :projectId ORDER BY f.id")
+    List<String> findFilePathsByProjectId(@Param("projectId") Long projectId);
+}
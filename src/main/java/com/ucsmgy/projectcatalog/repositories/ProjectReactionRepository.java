@@ -1,13 +1,31 @@
 package com.ucsmgy.projectcatalog.repositories;
 
 import com.ucsmgy.projectcatalog.entities.Reaction;
-import com.ucsmgy.projectcatalog.entities.SavedProject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProjectReactionRepository extends JpaRepository<Reaction, Long> {
     Optional<Reaction> findByProjectIdAndUserId(Long projectId, Long userId);
+    boolean existsByProjectIdAndUserId(Long projectId, Long userId);
     long countByProjectId(Long projectId);
     void deleteByProjectIdAndUserId(Long projectId, Long userId);
-}
\ No newline at end of file
+
+    /**
+     * @return the new reaction's ID, or null if the user had already reacted
+     */
+    @Query(value = "INSERT INTO reactions (project_id, user_id, created_at) VALUES (:projectId, :userId, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (project_id, user_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Long insertIfAbsent(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM reactions WHERE project_id = :projectId AND user_id = :userId", nativeQuery = true)
+    int deleteReaction(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    @Query("SELECT r.project.id FROM Reaction r WHERE r.user.id = :userId")
+    List<Long> findProjectIdsByUserId(@Param("userId") Long userId);
+}
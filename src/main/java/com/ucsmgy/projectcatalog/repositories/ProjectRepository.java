@@ -7,10 +7,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> , JpaSpecificationExecutor<Project> {
@@ -29,4 +33,59 @@ public interface ProjectRepository extends JpaRepository<Project, Long> , JpaSpe
     Page<Project> findByApprovalStatus(Project.ApprovalStatus approvalStatus, Pageable pageable);
     
     List<Project> findBySupervisorIsNullAndApprovalStatus(Project.ApprovalStatus approvalStatus);
-}
\ No newline at end of file
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Project p SET p.coverCardUrl = :cardUrl, p.coverThumbUrl = :thumbUrl, p.coverPlaceholder = :placeholder " +
+            "WHERE p.id = :projectId AND p.coverImageUrl = :sourceUrl")
+    int updateCoverVariants(@Param(name = "", value = "projectId") Long projectId,
+                            @Param(name = "", value = "sourceUrl") String sourceUrl,
+                            @Param(name = "", value = "cardUrl") String cardUrl,
+                            @Param(name = "", value = "thumbUrl") String thumbUrl,
+                            @Param(name = "", value = "placeholder") String placeholder);
+
+    @Query("SELECT p.department.id FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findDepartmentId(@Param(name = "", value = "projectId") Long projectId);
+
+    @Query("SELECT p.commentCount FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findCommentCount(@Param(name = "", value = "projectId") Long projectId);
+
+    @Query("SELECT p.reactionCount FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findReactionCount(@Param(name = "", value = "projectId") Long projectId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Project p SET p.commentCount = p.commentCount + :delta WHERE p.id = :projectId")
+    int addCommentCount(@Param(name = "", value = "projectId") Long projectId,
+                        @Param(name = "", value = "delta") long delta);
+
+    @Query("SELECT p.id, p.reactionCount FROM Project p WHERE p.id IN :projectIds")
+    List<Object[]> findReactionCounts(@Param(name = "", value = "projectIds") Collection<Long> projectIds);
+
+    @Modifying
+    @Query("UPDATE Project p SET p.reactionCount = p.reactionCount + :delta WHERE p.id = :projectId")
+    int addReactionCount(@Param(name = "", value = "projectId") Long projectId,
+                         @Param(name = "", value = "delta") long delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE projects p SET reaction_count = c.total " +
+            "FROM (SELECT p2.id, COUNT(r.id) AS total FROM projects p2 " +
+            "LEFT JOIN reactions r ON r.project_id = p2.id GROUP BY p2.id) c " +
+            "WHERE p.id = c.id AND p.reaction_count <> c.total", nativeQuery = true)
+    int reconcileReactionCounts();
+
+    @Query(value = "SELECT p.id FROM projects p LEFT JOIN comments c ON c.project_id = p.id " +
+            "GROUP BY p.id HAVING p.comment_count <> COUNT(c.id)", nativeQuery = true)
+    List<Long> findDriftedCommentCounts();
+
+    // NO KEY UPDATE conflicts with comment count updates but not with the key-share lock a comment insert takes.
+    @Query(value = "SELECT id FROM projects WHERE id = :projectId FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Long> lockCommentCount(@Param(name = "", value = "projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "UPDATE projects p SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.project_id = p.id) " +
+            "WHERE p.id = :projectId AND p.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.project_id = p.id)",
+            nativeQuery = true)
+    int recountComments(@Param(name = "", value = "projectId") Long projectId);
+}
@@ -1,13 +1,39 @@
 package com.ucsmgy.projectcatalog.repositories;
 
+import com.ucsmgy.projectcatalog.dtos.SavedProjectResponseDTO;
 import com.ucsmgy.projectcatalog.entities.SavedProject;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 public interface SavedProjectRepository extends JpaRepository<SavedProject, Long> {
-    Optional<SavedProject> findByProjectIdAndUserId(Long projectId, Long userId);
-    List<SavedProject> findAllByUserId(Long userId);
+    String SELECT_RESPONSE = "SELECT new com.ucsmgy.projectcatalog.dtos.SavedProjectResponseDTO(" +
+            "p.id, p.title, p.description, s.user.id, p.department.id, p.course.id, " +
+            "p.coverImageUrl, p.coverThumbUrl, p.coverPlaceholder, p.academic_year, p.student_year, s.savedAt) " +
+            "FROM SavedProject s JOIN s.project p ";
+
+    boolean existsByProjectIdAndUserId(Long projectId, Long userId);
+
+    @Query(SELECT_RESPONSE + "WHERE s.user.id = :userId ORDER BY s.savedAt DESC, p.id DESC")
+    List<SavedProjectResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_RESPONSE + "WHERE s.user.id = :userId ORDER BY s.savedAt DESC, p.id DESC")
+    List<SavedProjectResponseDTO> findLatestResponsesByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE s.user.id = :userId " +
+            "AND (s.savedAt < :savedAt OR (s.savedAt = :savedAt AND p.id < :projectId)) " +
+            "ORDER BY s.savedAt DESC, p.id DESC")
+    List<SavedProjectResponseDTO> findResponsesByUserIdBefore(@Param("userId") Long userId,
+                                                              @Param("savedAt") LocalDateTime savedAt,
+                                                              @Param("projectId") Long projectId,
+                                                              Limit limit);
+
     void deleteByProjectIdAndUserId(Long projectId, Long userId);
+
+    @Query("SELECT s.project.id FROM SavedProject s WHERE s.user.id = :userId")
+    List<Long> findProjectIdsByUserId(@Param("userId") Long userId);
 }
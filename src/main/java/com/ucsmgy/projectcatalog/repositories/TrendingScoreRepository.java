@@ -0,0 +1,46 @@
+package com.ucsmgy.projectcatalog.repositories;
+
+import com.ucsmgy.projectcatalog.entities.TrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, Long> {
+
+    // Adds a node's unpersisted increment to the shared score, decaying both to the later of the two
+    // timestamps (λ is per millisecond). Skips projects deleted since they were scored.
+    @Modifying
+    @Query(value = "INSERT INTO trending_scores (project_id, department_id, score, computed_at) " +
+            "SELECT p.id, p.department_id, :delta, :computedAt FROM projects p WHERE p.id = :projectId " +
+            "ON CONFLICT (project_id) DO UPDATE SET " +
+            "score = trending_scores.score * exp(GREATEST(-700, :lambda * 1000 * EXTRACT(EPOCH FROM " +
+            "(trending_scores.computed_at - GREATEST(trending_scores.computed_at, EXCLUDED.computed_at))))) " +
+            "+ EXCLUDED.score * exp(GREATEST(-700, :lambda * 1000 * EXTRACT(EPOCH FROM " +
+            "(EXCLUDED.computed_at - GREATEST(trending_scores.computed_at, EXCLUDED.computed_at))))), " +
+            "computed_at = GREATEST(trending_scores.computed_at, EXCLUDED.computed_at), " +
+            "department_id = EXCLUDED.department_id", nativeQuery = true)
+    void addScore(@Param("projectId") Long projectId,
+                  @Param("delta") double delta,
+                  @Param("computedAt") LocalDateTime computedAt,
+                  @Param("lambda") double lambda);
+
+    // 1 the first time the user's interaction of this kind with the project is seen, 0 after that.
+    @Modifying
+    @Query(value = "INSERT INTO trending_interactions (project_id, user_id, kind) VALUES (:projectId, :userId, :kind) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int markInteraction(@Param("projectId") Long projectId,
+                        @Param("userId") Long userId,
+                        @Param("kind") String kind);
+
+    // Keeps the top scores as of :now; compares logarithms so old scores can't underflow exp().
+    @Modifying
+    @Query(value = "DELETE FROM trending_scores WHERE project_id NOT IN (" +
+            "SELECT project_id FROM trending_scores ORDER BY ln(GREATEST(score, 1e-300)) " +
+            "+ :lambda * 1000 * EXTRACT(EPOCH FROM (computed_at - :now)) DESC LIMIT :capacity)", nativeQuery = true)
+    int trimToCapacity(@Param("now") LocalDateTime now,
+                       @Param("lambda") double lambda,
+                       @Param("capacity") int capacity);
+}
@@ -2,7 +2,11 @@ package com.ucsmgy.projectcatalog.repositories;
 
 import com.ucsmgy.projectcatalog.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +17,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
     List<User> findByRole(String role);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.avatarMediumUrl = :mediumUrl, u.avatarThumbUrl = :thumbUrl, u.avatarPlaceholder = :placeholder " +
+            "WHERE u.id = :userId AND u.avatarUrl = :sourceUrl")
+    int updateAvatarVariants(@Param("userId") Long userId,
+                             @Param("sourceUrl") String sourceUrl,
+                             @Param("mediumUrl") String mediumUrl,
+                             @Param("thumbUrl") String thumbUrl,
+                             @Param("placeholder") String placeholder);
 }
@@ -1,6 +1,7 @@
 package com.ucsmgy.projectcatalog.services;
 
 import com.ucsmgy.projectcatalog.dtos.CommentDTO;
+import com.ucsmgy.projectcatalog.dtos.CommentPageDTO;
 import com.ucsmgy.projectcatalog.dtos.CommentResponseDTO;
 import com.ucsmgy.projectcatalog.entities.Comment;
 import com.ucsmgy.projectcatalog.entities.Project;
@@ -11,25 +12,37 @@ import com.ucsmgy.projectcatalog.mappers.CommentMapper;
 import com.ucsmgy.projectcatalog.repositories.CommentRepository;
 import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
 import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CommentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final CommentMapper commentMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final ProjectActivityService projectActivityService;
+    private final TransactionTemplate transactionTemplate;
 
+    @Transactional
     public CommentResponseDTO createComment(CommentDTO dto) {
         Project project = projectRepository.findById(dto.getProjectId())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
@@ -42,12 +55,14 @@ public class CommentService {
         comment.setUser(user);
         comment.setCreatedAt(LocalDateTime.now());
         Comment savedComment = commentRepository.save(comment);
+        projectRepository.addCommentCount(project.getId(), 1);
         User projectOwner = project.getUser();
 
         eventPublisher.publishEvent(new CommentCreatedEvent(this, project.getId(), savedComment.getId(), projectOwner.getId(), projectOwner.getRole(), savedComment.getComment(),user.getName()));
 
-
-        return commentMapper.toDTO(savedComment);
+        CommentResponseDTO response = commentMapper.toDTO(savedComment);
+        projectActivityService.commentAdded(project.getId(), response);
+        return response;
     }
 
     public List<CommentResponseDTO> getCommentsByProject(Long projectId) {
@@ -57,6 +72,36 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Newest-first page of a project's comments; pass the previous page's {@code nextCursor} to continue.
+     */
+    public CommentPageDTO getCommentPage(Long projectId, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page follows.
+        Limit fetch = Limit.of(size + 1);
+        List<Comment> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findLatestByProjectId(projectId, fetch);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findByProjectIdBefore(projectId, after.timestamp(), after.id(), fetch);
+        }
+
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment last = comments.get(size - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CommentPageDTO.builder()
+                .comments(comments.stream().map(commentMapper::toDTO).toList())
+                .nextCursor(nextCursor)
+                .totalComments(projectRepository.findCommentCount(projectId).orElse(0L))
+                .build();
+    }
+
+    @Transactional
     public void deleteComment(Long commentId, Long userId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found"));
@@ -65,5 +110,31 @@ public class CommentService {
             throw new AccessDeniedException("User not authorized to delete this comment");
         }
         commentRepository.delete(comment);
+        projectRepository.addCommentCount(comment.getProject().getId(), -1);
+        projectActivityService.commentDeleted(comment.getProject().getId(), commentId);
+    }
+
+    /**
+     * Recounts {@code projects.comment_count}, which drifts when comments go by cascade, e.g. with
+     * their author. Each drifted project is recounted in its own transaction under its row lock, which
+     * comment writes also take to update the count, so none of them is lost to the recount and writes
+     * to other projects don't wait.
+     */
+    @Scheduled(fixedDelayString = "${comments.reconcile-interval:PT1H}", initialDelayString = "${comments.reconcile-interval:PT1H}")
+    public void reconcileCommentCounts() {
+        int corrected = 0;
+        for (Long projectId : projectRepository.findDriftedCommentCounts()) {
+            Integer updated = transactionTemplate.execute(status -> {
+                if (projectRepository.lockCommentCount(projectId).isEmpty()) {
+                    return 0;
+                }
+                // A separate statement, so the count sees every write that committed while we waited for the lock.
+                return projectRepository.recountComments(projectId);
+            });
+            corrected += updated == null ? 0 : updated;
+        }
+        if (corrected > 0) {
+            log.info("Reconciled comment counts of {} projects", corrected);
+        }
     }
 }
@@ -0,0 +1,315 @@
+package com.ucsmgy.projectcatalog.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded LRU cache of downloaded files on local disk, keyed by storage path and revision so a
+ * new revision never serves stale bytes. Concurrent misses for the same file share one fetch. Files
+ * larger than {@code downloads.cache.max-file-size} bypass the cache.
+ * <p>
+ * Callers hold a {@link Lease} while they read a cached file; eviction skips leased files and
+ * catches up once the last lease is closed. An evicted file stays on disk for
+ * {@code downloads.cache.delete-grace} before it is deleted, because Tomcat's sendfile opens the file
+ * only after the request has returned and released its lease.
+ */
+@Slf4j
+@Component
+public class DownloadCache {
+
+    private final Path root;
+    private final Path tempDir;
+    private final long maxSize;
+    private final long maxFileSize;
+
+    // Access-ordered, so iteration starts at the least recently used entry. Guarded by itself.
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+    private final Map<String, Integer> leases = new HashMap<>();
+    // Evicted files and when they may be deleted.
+    private final Map<String, Long> doomed = new HashMap<>();
+    private final long deleteGraceMillis;
+    private final Map<String, CompletableFuture<Path>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictedBytes = new LongAdder();
+
+    public DownloadCache(@Value("${downloads.cache.dir:./data/download-cache}") String dir,
+                         @Value("${downloads.cache.max-size:2GB}") DataSize maxSize,
+                         @Value("${downloads.cache.max-file-size:200MB}") DataSize maxFileSize,
+                         @Value("${downloads.cache.delete-grace:PT1M}") Duration deleteGrace) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.tempDir = root.resolve("tmp");
+        this.maxSize = maxSize.toBytes();
+        this.maxFileSize = maxFileSize.toBytes();
+        this.deleteGraceMillis = deleteGrace.toMillis();
+        Files.createDirectories(tempDir);
+        loadExisting();
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        void load(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Leases the cached copy of {@code path} at {@code rev}, fetching it with {@code loader} on a miss.
+     * Empty when the file is too large to cache, or when it was evicted before a coalesced caller got
+     * to it; either way the caller should stream from the source instead.
+     */
+    public Optional<Lease> get(String path, String rev, long size, Loader loader) throws IOException {
+        if (size > maxFileSize) {
+            return Optional.empty();
+        }
+        String key = key(path, rev);
+        Lease cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            await(running);
+            return Optional.ofNullable(lookup(key));
+        }
+
+        try {
+            // The previous loader may have finished between the lookup and claiming the key.
+            Lease loaded = lookup(key);
+            if (loaded != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                loaded = load(key, loader);
+            }
+            mine.complete(loaded.path());
+            return Optional.of(loaded);
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    /**
+     * Leases the cached copy of {@code path} at {@code rev} if there is one, without fetching it.
+     */
+    public Optional<Lease> find(String path, String rev) {
+        Lease cached = lookup(key(path, rev));
+        if (cached != null) {
+            hits.increment();
+        }
+        return Optional.ofNullable(cached);
+    }
+
+    public void recordServed(long bytes) {
+        bytesServed.add(bytes);
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum() + coalesced.sum();
+        long requests = hitCount + misses.sum();
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), coalesced.sum(),
+                    requests == 0 ? 0 : (double) hitCount / requests,
+                    bytesServed.sum(), evictions.sum(), evictedBytes.sum(),
+                    entries.size(), totalSize, maxSize);
+        }
+    }
+
+    private Lease lookup(String key) {
+        Path file = root.resolve(key);
+        synchronized (entries) {
+            Long size = entries.get(key);
+            if (size == null) {
+                return null;
+            }
+            if (!Files.isRegularFile(file)) {
+                entries.remove(key);
+                totalSize -= size;
+                return null;
+            }
+            return acquire(key);
+        }
+    }
+
+    // Callers hold the entries lock.
+    private Lease acquire(String key) {
+        leases.merge(key, 1, Integer::sum);
+        return new Lease(key, root.resolve(key));
+    }
+
+    private void release(String key) {
+        synchronized (entries) {
+            leases.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            if (totalSize > maxSize) {
+                evictOverflow();
+            }
+        }
+    }
+
+    private Lease load(String key, Loader loader) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "download-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                loader.load(out);
+            }
+            long size = Files.size(temp);
+            Path target = root.resolve(key);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            synchronized (entries) {
+                doomed.remove(key);
+                Long previous = entries.put(key, size);
+                totalSize += size - (previous != null ? previous : 0);
+                Lease lease = acquire(key);
+                evictOverflow();
+                return lease;
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Leased files are skipped; release() evicts again once they are free.
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalSize > maxSize && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (leases.containsKey(entry.getKey())) {
+                continue;
+            }
+            eldest.remove();
+            totalSize -= entry.getValue();
+            evictions.increment();
+            evictedBytes.add(entry.getValue());
+            doomed.put(entry.getKey(), System.currentTimeMillis() + deleteGraceMillis);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${downloads.cache.delete-grace:PT1M}")
+    public void deleteEvicted() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<Map.Entry<String, Long>> it = doomed.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> entry = it.next();
+                if (entry.getValue() > now || leases.containsKey(entry.getKey())) {
+                    continue;
+                }
+                it.remove();
+                try {
+                    Files.deleteIfExists(root.resolve(entry.getKey()));
+                } catch (IOException e) {
+                    log.warn("Failed to delete evicted download {}", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    private void loadExisting() throws IOException {
+        try (Stream<Path> temps = Files.list(tempDir)) {
+            for (Path temp : temps.toList()) {
+                Files.deleteIfExists(temp);
+            }
+        }
+        // Rebuild the index oldest first; modification time is the best recency hint after a restart.
+        try (Stream<Path> files = Files.list(root)) {
+            List<Path> cached = files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(DownloadCache::lastModified))
+                    .toList();
+            synchronized (entries) {
+                for (Path file : cached) {
+                    long size = Files.size(file);
+                    entries.put(file.getFileName().toString(), size);
+                    totalSize += size;
+                }
+                evictOverflow();
+            }
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> running) throws IOException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a concurrent download", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Concurrent download failed", e.getCause());
+        }
+    }
+
+    private static String key(String path, String rev) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((path + "@" + rev).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached file that stays on disk until the lease is closed.
+     */
+    public final class Lease implements AutoCloseable {
+        private final String key;
+        private final Path path;
+        private boolean closed;
+
+        private Lease(String key, Path path) {
+            this.key = key;
+            this.path = path;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(key);
+            }
+        }
+    }
+
+    public record Stats(long hits, long misses, long coalesced, double hitRatio, long bytesServed,
+                        long evictions, long evictedBytes, int entries, long size, long maxSize) {
+    }
+}
@@ -1,15 +1,21 @@
 package com.ucsmgy.projectcatalog.services;
 
+import com.dropbox.core.DbxDownloader;
 import com.dropbox.core.DbxException;
 import com.dropbox.core.v2.DbxClientV2;
 import com.dropbox.core.v2.files.FileMetadata;
+import com.dropbox.core.v2.files.GetMetadataErrorException;
+import com.dropbox.core.v2.files.Metadata;
 import com.dropbox.core.v2.files.WriteMode;
+import com.dropbox.core.v2.sharing.SharedLinkMetadata;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -37,11 +43,47 @@ public class DropboxStorageService implements CloudStorageService {
         String dropboxPath = "/" + uniqueFilename;
 
         try (InputStream in = multipartFile.getInputStream()) {
-            FileMetadata metadata = dropboxClient.files().uploadBuilder(dropboxPath)
-                    .withMode(WriteMode.ADD)
-                    .uploadAndFinish(in);
+            upload(dropboxPath, in, WriteMode.ADD);
         }
 
         return dropboxClient.sharing().createSharedLinkWithSettings(dropboxPath).getUrl();
     }
-}
\ No newline at end of file
+
+    public FileMetadata upload(String dropboxPath, InputStream in, WriteMode mode) throws IOException, DbxException {
+        return dropboxClient.files().uploadBuilder(dropboxPath)
+                .withMode(mode)
+                .uploadAndFinish(in);
+    }
+
+    public FileMetadata download(String dropboxPath, OutputStream out) throws IOException, DbxException {
+        return dropboxClient.files().downloadBuilder(dropboxPath).download(out);
+    }
+
+    /**
+     * Streams {@code length} bytes of revision {@code rev} starting at {@code start}. Pinning the revision
+     * keeps resumed range requests from stitching together two versions of a file.
+     */
+    public FileMetadata download(String dropboxPath, String rev, long start, long length, OutputStream out)
+            throws IOException, DbxException {
+        return dropboxClient.files().downloadBuilder(dropboxPath)
+                .withRev(rev)
+                .range(start, length)
+                .download(out);
+    }
+
+    public Optional<FileMetadata> getFileMetadata(String dropboxPath) throws DbxException {
+        try {
+            Metadata metadata = dropboxClient.files().getMetadata(dropboxPath);
+            return metadata instanceof FileMetadata file ? Optional.of(file) : Optional.empty();
+        } catch (GetMetadataErrorException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Opens the file behind a shared link as returned by {@link #uploadFile}; the caller must close the downloader.
+     */
+    public DbxDownloader<SharedLinkMetadata> openSharedLink(String sharedLinkUrl) throws DbxException {
+        return dropboxClient.sharing().getSharedLinkFile(sharedLinkUrl.replace("dl=1", "dl=0"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.dtos.ProjectEngagementDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reaction totals and the caller's reacted/saved flags for a page of projects, served from
+ * {@link ReactionCounterService} and {@link MembershipIndex} however many cards the page shows.
+ */
+@Service
+@RequiredArgsConstructor
+public class EngagementService {
+
+    private final ReactionCounterService reactionCounterService;
+    private final MembershipIndex membershipIndex;
+
+    public List<ProjectEngagementDTO> getEngagement(List<Long> projectIds, Long userId) {
+        Set<Long> ids = new LinkedHashSet<>(projectIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Long> totals = reactionCounterService.totals(ids);
+        MembershipIndex.Sets sets = membershipIndex.sets(userId);
+
+        return ids.stream()
+                .map(id -> ProjectEngagementDTO.builder()
+                        .projectId(id)
+                        .totalReactions(totals.get(id))
+                        .reacted(Arrays.binarySearch(sets.reacted(), id) >= 0)
+                        .saved(Arrays.binarySearch(sets.saved(), id) >= 0)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,245 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.dropbox.core.DbxException;
+import com.ucsmgy.projectcatalog.dtos.CreateUploadRequest;
+import com.ucsmgy.projectcatalog.dtos.FileUploadDTO;
+import com.ucsmgy.projectcatalog.entities.FileUpload;
+import com.ucsmgy.projectcatalog.exceptions.EntityNotFoundException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidUploadException;
+import com.ucsmgy.projectcatalog.exceptions.UploadConflictException;
+import com.ucsmgy.projectcatalog.repositories.FileUploadRepository;
+import com.ucsmgy.projectcatalog.util.PathMultipartFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads: a client creates an upload, appends chunks at the offset the server reports, and
+ * completes it. Chunks are streamed to a temp file; completing the upload pushes the file to the
+ * configured {@link CloudStorageService} once, after which projects reference it by upload ID.
+ */
+@Slf4j
+@Service
+public class FileUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileUploadRepository fileUploadRepository;
+    private final CloudStorageService cloudStorageService;
+    private final Path tempDir;
+    private final long maxFileSize;
+    private final Duration expireAfter;
+    private final Duration unattachedExpireAfter;
+    private final Set<String> activeWrites = ConcurrentHashMap.newKeySet();
+
+    public FileUploadService(FileUploadRepository fileUploadRepository,
+                             CloudStorageService cloudStorageService,
+                             @Value("${uploads.temp-dir:./data/uploads}") String tempDir,
+                             @Value("${uploads.max-file-size:200MB}") DataSize maxFileSize,
+                             @Value("${uploads.expire-after:24h}") Duration expireAfter,
+                             @Value("${uploads.unattached-expire-after:30d}") Duration unattachedExpireAfter) throws IOException {
+        this.fileUploadRepository = fileUploadRepository;
+        this.cloudStorageService = cloudStorageService;
+        this.tempDir = Paths.get(tempDir).toAbsolutePath().normalize();
+        this.maxFileSize = maxFileSize.toBytes();
+        this.expireAfter = expireAfter;
+        this.unattachedExpireAfter = unattachedExpireAfter;
+        Files.createDirectories(this.tempDir);
+    }
+
+    public FileUploadDTO create(CreateUploadRequest request, Long userId) {
+        if (request.getSize() > maxFileSize) {
+            throw new InvalidUploadException("File exceeds the maximum size of " + maxFileSize + " bytes");
+        }
+
+        FileUpload upload = new FileUpload();
+        upload.setId(UUID.randomUUID().toString());
+        upload.setUserId(userId);
+        upload.setFilename(request.getFilename().trim());
+        upload.setContentType(request.getContentType());
+        upload.setTotalSize(request.getSize());
+        return toDTO(fileUploadRepository.save(upload));
+    }
+
+    public FileUploadDTO get(String uploadId, Long userId) {
+        return toDTO(find(uploadId, userId));
+    }
+
+    /**
+     * @param contentLength the chunk's length, or -1 if the request doesn't declare one
+     */
+    public FileUploadDTO appendChunk(String uploadId, Long userId, long offset, long contentLength,
+                                     InputStream body) throws IOException {
+        FileUpload upload = find(uploadId, userId);
+        if (upload.getStatus() != FileUpload.Status.IN_PROGRESS) {
+            throw new UploadConflictException("Upload is already complete", upload.getReceivedSize());
+        }
+        if (!activeWrites.add(uploadId)) {
+            throw new UploadConflictException("Another chunk is being written to this upload", upload.getReceivedSize());
+        }
+
+        try {
+            upload = find(uploadId, userId);
+            if (offset != upload.getReceivedSize()) {
+                throw new UploadConflictException("Chunk offset does not match the upload offset", upload.getReceivedSize());
+            }
+
+            long remaining = upload.getTotalSize() - offset;
+            if (contentLength > remaining) {
+                throw new InvalidUploadException("Chunk runs past the declared upload size");
+            }
+            long written = 0;
+            boolean overrun = false;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (FileChannel channel = FileChannel.open(partFile(uploadId),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.position(offset);
+                // Keep whatever arrived before a dropped connection, so the client can resume from there.
+                try {
+                    while (written < remaining) {
+                        int read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining - written));
+                        if (read == -1) {
+                            break;
+                        }
+                        ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                        while (chunk.hasRemaining()) {
+                            channel.write(chunk);
+                        }
+                        written += read;
+                    }
+                    // Without a Content-Length the overrun only shows once the declared size is reached.
+                    overrun = written == remaining && body.read() != -1;
+                } finally {
+                    // An overrunning chunk is discarded as a whole, leaving the upload where it was.
+                    long end = overrun ? offset : offset + written;
+                    channel.truncate(end);
+                    channel.force(false);
+                    if (!overrun) {
+                        upload.setReceivedSize(end);
+                        upload = fileUploadRepository.save(upload);
+                    }
+                }
+            }
+            if (overrun) {
+                throw new InvalidUploadException("Chunk runs past the declared upload size");
+            }
+            return toDTO(upload);
+        } finally {
+            activeWrites.remove(uploadId);
+        }
+    }
+
+    public FileUploadDTO complete(String uploadId, Long userId) throws IOException, DbxException {
+        FileUpload upload = find(uploadId, userId);
+        if (upload.getStatus() != FileUpload.Status.IN_PROGRESS) {
+            return toDTO(upload);
+        }
+        if (upload.getReceivedSize() != upload.getTotalSize()) {
+            throw new UploadConflictException("Upload is missing " + (upload.getTotalSize() - upload.getReceivedSize()) + " bytes",
+                    upload.getReceivedSize());
+        }
+        if (!activeWrites.add(uploadId)) {
+            throw new UploadConflictException("Upload is still being written", upload.getReceivedSize());
+        }
+
+        try {
+            Path part = partFile(uploadId);
+            String fileUrl = cloudStorageService.uploadFile(
+                    new PathMultipartFile(part, upload.getFilename(), upload.getContentType()));
+            upload.setFileUrl(fileUrl.replace("dl=0", "dl=1"));
+            upload.setStatus(FileUpload.Status.COMPLETED);
+            upload = fileUploadRepository.save(upload);
+            Files.deleteIfExists(part);
+            return toDTO(upload);
+        } finally {
+            activeWrites.remove(uploadId);
+        }
+    }
+
+    /**
+     * Marks a completed upload as attached to a project and returns its stored URL.
+     */
+    public String attach(String uploadId, Long userId) {
+        FileUpload upload = find(uploadId, userId);
+        if (upload.getStatus() != FileUpload.Status.COMPLETED) {
+            throw new InvalidUploadException("Upload " + uploadId + " is not complete or already attached");
+        }
+        upload.setStatus(FileUpload.Status.ATTACHED);
+        fileUploadRepository.save(upload);
+        return upload.getFileUrl();
+    }
+
+    public void cancel(String uploadId, Long userId) throws IOException {
+        FileUpload upload = find(uploadId, userId);
+        if (upload.getStatus() == FileUpload.Status.IN_PROGRESS) {
+            Files.deleteIfExists(partFile(uploadId));
+        }
+        if (upload.getStatus() != FileUpload.Status.ATTACHED) {
+            fileUploadRepository.delete(upload);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${uploads.cleanup-interval:PT1H}")
+    public void purgeAbandonedUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(expireAfter);
+        for (FileUpload upload : fileUploadRepository.findByStatusAndUpdatedAtBefore(FileUpload.Status.IN_PROGRESS, cutoff)) {
+            if (activeWrites.contains(upload.getId())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(partFile(upload.getId()));
+                fileUploadRepository.delete(upload);
+            } catch (IOException e) {
+                log.warn("Failed to remove abandoned upload {}", upload.getId(), e);
+            }
+        }
+
+        // Completed but never attached, e.g. the project was never submitted. Kept long enough for
+        // drafts that still reference them; the stored file itself may be shared, so only the row goes.
+        List<FileUpload> unattached = fileUploadRepository.findByStatusAndUpdatedAtBefore(
+                FileUpload.Status.COMPLETED, LocalDateTime.now().minus(unattachedExpireAfter));
+        if (!unattached.isEmpty()) {
+            fileUploadRepository.deleteAll(unattached);
+            log.info("Purged {} completed uploads that were never attached", unattached.size());
+        }
+    }
+
+    private FileUpload find(String uploadId, Long userId) {
+        return fileUploadRepository.findByIdAndUserId(uploadId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Upload with ID " + uploadId + " not found"));
+    }
+
+    private Path partFile(String uploadId) {
+        // Upload IDs are server-generated UUIDs, but never trust them as path segments.
+        return tempDir.resolve(UUID.fromString(uploadId) + ".part");
+    }
+
+    private FileUploadDTO toDTO(FileUpload upload) {
+        return FileUploadDTO.builder()
+                .id(upload.getId())
+                .filename(upload.getFilename())
+                .contentType(upload.getContentType())
+                .size(upload.getTotalSize())
+                .offset(upload.getReceivedSize())
+                .status(upload.getStatus().name())
+                .fileUrl(upload.getFileUrl())
+                .build();
+    }
+}
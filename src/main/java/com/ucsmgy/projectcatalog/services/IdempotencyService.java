@@ -0,0 +1,252 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucsmgy.projectcatalog.dtos.ProjectRequestDTO;
+import com.ucsmgy.projectcatalog.entities.IdempotencyKey;
+import com.ucsmgy.projectcatalog.exceptions.IdempotencyConflictException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidIdempotencyKeyException;
+import com.ucsmgy.projectcatalog.repositories.IdempotencyKeyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored result of a request that carries an {@code Idempotency-Key} header instead of
+ * running it again. Duplicates arriving on this node while the original is still running wait for it;
+ * duplicates seen on another node get a 409 until the original completes. The node running a key
+ * renews its lease every {@code idempotency.lease-renew-interval}, so a slow upload keeps its key;
+ * only a key whose lease ran out (its node died) is taken over. Renewal runs on its own thread rather
+ * than the shared scheduler, where a long reconcile could hold it up past the lease.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration lease;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Set<Long> leased = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("idempotency-lease-renewer").daemon(true).factory());
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.wait-timeout:120s}") Duration waitTimeout,
+                              @Value("${idempotency.lease:PT1M}") Duration lease,
+                              @Value("${idempotency.lease-renew-interval:PT20S}") Duration leaseRenewInterval) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.lease = lease;
+        long renewMillis = leaseRenewInterval.toMillis();
+        leaseRenewer.scheduleWithFixedDelay(this::renewLeases, renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public <T> T execute(Long userId, String key, String fingerprint, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scope = userId + ":" + key;
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scope, mine);
+        if (running != null) {
+            return responseType.cast(awaitInFlight(running, fingerprint));
+        }
+
+        try {
+            T result = executeOnce(userId, key, fingerprint, responseType, action);
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope, mine);
+        }
+    }
+
+    private <T> T executeOnce(Long userId, String key, String fingerprint, Class<T> responseType, Supplier<T> action) {
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+        if (existing.isPresent()) {
+            IdempotencyKey record = existing.get();
+            if (!record.getRequestFingerprint().equals(fingerprint)) {
+                throw new IdempotencyConflictException("Idempotency-Key was already used for a different request");
+            }
+            if (record.getStatus() == IdempotencyKey.Status.COMPLETED) {
+                return readResponse(record, responseType);
+            }
+            // Only a key whose owner stopped renewing its lease (the node died) may be taken over.
+            if (idempotencyKeyRepository.deleteIfLeaseExpired(record.getId(), LocalDateTime.now()) == 0) {
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+            }
+        }
+
+        IdempotencyKey record = new IdempotencyKey();
+        record.setUserId(userId);
+        record.setIdempotencyKey(key);
+        record.setRequestFingerprint(fingerprint);
+        record.setLockedUntil(LocalDateTime.now().plus(lease));
+        try {
+            record = idempotencyKeyRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+        }
+
+        leased.add(record.getId());
+        try {
+            T result;
+            try {
+                result = action.get();
+            } catch (RuntimeException e) {
+                idempotencyKeyRepository.delete(record);
+                throw e;
+            }
+
+            record.setStatus(IdempotencyKey.Status.COMPLETED);
+            record.setResponseBody(writeResponse(result));
+            record.setCompletedAt(LocalDateTime.now());
+            record.setLockedUntil(null);
+            idempotencyKeyRepository.save(record);
+            return result;
+        } finally {
+            leased.remove(record.getId());
+        }
+    }
+
+    private void renewLeases() {
+        if (leased.isEmpty()) {
+            return;
+        }
+        try {
+            idempotencyKeyRepository.renewLeases(List.copyOf(leased), LocalDateTime.now().plus(lease));
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew {} idempotency key leases", leased.size(), e);
+        }
+    }
+
+    private Object awaitInFlight(InFlight running, String fingerprint) {
+        if (!running.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyConflictException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return running.result().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private <T> T readResponse(IdempotencyKey record, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read stored response for Idempotency-Key " + record.getIdempotencyKey(), e);
+        }
+    }
+
+    private String writeResponse(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to store response for idempotent request", e);
+        }
+    }
+
+    public String fingerprint(String method, String path, ProjectRequestDTO dto, Map<String, String> membersMap) {
+        MessageDigest digest = sha256();
+        update(digest, method);
+        update(digest, path);
+        update(digest, dto.getTitle());
+        update(digest, dto.getDescription());
+        update(digest, dto.getBenefits());
+        update(digest, dto.getBody());
+        update(digest, dto.getContentFormat());
+        update(digest, dto.getObjectives());
+        update(digest, dto.getGithubLink());
+        update(digest, dto.getAcademic_year());
+        update(digest, dto.getStudent_year());
+        update(digest, String.valueOf(dto.getDepartmentId()));
+        update(digest, String.valueOf(dto.getCourseId()));
+        update(digest, String.valueOf(dto.getSupervisorId()));
+        update(digest, dto.getApprovalStatus());
+        update(digest, String.valueOf(dto.getTags()));
+        update(digest, dto.getTagsJson());
+        update(digest, String.valueOf(new TreeMap<>(membersMap)));
+        update(digest, String.valueOf(dto.getUploadIds()));
+        if (dto.getProjectFiles() != null) {
+            // Name, size and type are enough to tell retries apart without hashing every upload.
+            for (MultipartFile file : dto.getProjectFiles()) {
+                update(digest, file.getOriginalFilename() + ":" + file.getSize() + ":" + file.getContentType());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        int removed = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<Object> result) {
+    }
+}
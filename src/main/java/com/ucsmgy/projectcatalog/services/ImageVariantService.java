@@ -0,0 +1,291 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.events.AvatarChangedEvent;
+import com.ucsmgy.projectcatalog.events.CoverImageChangedEvent;
+import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
+import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Produces resized variants of project covers and user avatars after they change: a card and a
+ * thumbnail for covers, medium and thumbnail squares for avatars, and a tiny blurred placeholder
+ * for both. Work runs on a small bounded pool after the triggering transaction commits; when the
+ * queue is full the job is dropped and clients keep using the original image.
+ * <p>
+ * Variants are encoded as WebP when an ImageIO WebP writer is on the classpath and as JPEG otherwise.
+ * <p>
+ * Source URLs come from users, so they are only fetched over https from {@code images.variants.allowed-hosts}
+ * (plus the host of {@code storage.local.public-url} when it is absolute), never from an address that
+ * resolves to the local network, without following redirects, and only up to
+ * {@code images.variants.max-source-size} bytes.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final int CARD_WIDTH = 640;
+    private static final int THUMB_WIDTH = 320;
+    private static final int AVATAR_MEDIUM_SIZE = 256;
+    private static final int AVATAR_THUMB_SIZE = 64;
+    private static final int PLACEHOLDER_WIDTH = 16;
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+    private static final int TIMEOUT_MILLIS = 15_000;
+
+    private final ImgbbService imgbbService;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final String encodeFormat;
+    private final Set<String> allowedHosts = new HashSet<>();
+    private final int maxSourceBytes;
+
+    public ImageVariantService(ImgbbService imgbbService,
+                               ProjectRepository projectRepository,
+                               UserRepository userRepository,
+                               @Value("${images.variants.workers:2}") int workers,
+                               @Value("${images.variants.queue-capacity:100}") int queueCapacity,
+                               @Value("${images.variants.allowed-hosts:i.ibb.co,ibb.co}") List<String> allowedHosts,
+                               @Value("${images.variants.max-source-size:20MB}") DataSize maxSourceSize,
+                               @Value("${storage.local.public-url:/files}") String storagePublicUrl) {
+        this.imgbbService = imgbbService;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("image-variants-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeFormat = ImageIO.getImageWritersByFormatName("webp").hasNext() ? "webp" : "jpeg";
+        allowedHosts.forEach(host -> this.allowedHosts.add(host.trim().toLowerCase(Locale.ROOT)));
+        String storageHost = URI.create(storagePublicUrl).getHost();
+        if (storageHost != null) {
+            this.allowedHosts.add(storageHost.toLowerCase(Locale.ROOT));
+        }
+        this.maxSourceBytes = (int) Math.min(Integer.MAX_VALUE - 8, maxSourceSize.toBytes());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCoverImageChanged(CoverImageChangedEvent event) {
+        submit(() -> generateCoverVariants(event.getProjectId(), event.getCoverImageUrl()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvatarChanged(AvatarChangedEvent event) {
+        submit(() -> generateAvatarVariants(event.getUserId(), event.getAvatarUrl()));
+    }
+
+    private void submit(Runnable job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue is full, skipping job");
+        }
+    }
+
+    private void generateCoverVariants(Long projectId, String sourceUrl) {
+        try {
+            BufferedImage source = readImage(sourceUrl);
+            String cardUrl = upload(scaleToWidth(source, CARD_WIDTH), 0.8f);
+            String thumbUrl = upload(scaleToWidth(source, THUMB_WIDTH), 0.75f);
+            String placeholder = placeholder(source);
+            projectRepository.updateCoverVariants(projectId, sourceUrl, cardUrl, thumbUrl, placeholder);
+        } catch (Exception e) {
+            log.warn("Failed to generate cover variants for project {}", projectId, e);
+        }
+    }
+
+    private void generateAvatarVariants(Long userId, String sourceUrl) {
+        try {
+            BufferedImage square = cropSquare(readImage(sourceUrl));
+            String mediumUrl = upload(scaleToWidth(square, AVATAR_MEDIUM_SIZE), 0.8f);
+            String thumbUrl = upload(scaleToWidth(square, AVATAR_THUMB_SIZE), 0.8f);
+            String placeholder = placeholder(square);
+            userRepository.updateAvatarVariants(userId, sourceUrl, mediumUrl, thumbUrl, placeholder);
+        } catch (Exception e) {
+            log.warn("Failed to generate avatar variants for user {}", userId, e);
+        }
+    }
+
+    private BufferedImage readImage(String url) throws IOException {
+        URI uri = checkSource(url);
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        // A redirect could point anywhere, including back inside the network.
+        connection.setInstanceFollowRedirects(false);
+        byte[] bytes;
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected status " + connection.getResponseCode() + " for " + url);
+            }
+            if (connection.getContentLengthLong() > maxSourceBytes) {
+                throw new IOException("Image is too large: " + url);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                bytes = in.readNBytes(maxSourceBytes + 1);
+            }
+        } finally {
+            connection.disconnect();
+        }
+        if (bytes.length > maxSourceBytes) {
+            throw new IOException("Image is too large: " + url);
+        }
+        try (ImageInputStream imageIn = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + url);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                // Check the header before decoding so a huge image can't exhaust the heap.
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image is too large: " + url);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private URI checkSource(String url) throws IOException {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid image URL: " + url, e);
+        }
+        String host = uri.getHost();
+        if (!"https".equalsIgnoreCase(uri.getScheme()) || host == null || uri.getUserInfo() != null) {
+            throw new IOException("Image URL must be https: " + url);
+        }
+        if (!allowedHosts.contains(host.toLowerCase(Locale.ROOT))) {
+            throw new IOException("Image host is not allowed: " + host);
+        }
+        for (InetAddress address : InetAddress.getAllByName(host)) {
+            if (isInternal(address)) {
+                throw new IOException("Image host resolves to an internal address: " + host);
+            }
+        }
+        return uri;
+    }
+
+    private static boolean isInternal(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // Unique local fc00::/7
+            return (bytes[0] & 0xfe) == 0xfc;
+        }
+        // Carrier-grade NAT 100.64.0.0/10
+        return (bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64;
+    }
+
+    private static BufferedImage cropSquare(BufferedImage image) {
+        int size = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - size) / 2;
+        int y = (image.getHeight() - size) / 2;
+        return image.getSubimage(x, y, size, size);
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage image, int targetWidth) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int targetHeight = Math.max(1, Math.round((float) height * Math.min(targetWidth, width) / width));
+        targetWidth = Math.min(targetWidth, width);
+
+        // Halve repeatedly before the final step; a single bilinear pass from a large image aliases badly.
+        BufferedImage current = image;
+        while (width / 2 >= targetWidth) {
+            width /= 2;
+            height = Math.max(1, height / 2);
+            current = draw(current, width, height);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private String placeholder(BufferedImage image) throws IOException {
+        byte[] bytes = encode(scaleToWidth(image, PLACEHOLDER_WIDTH), "jpeg", 0.5f);
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private String upload(BufferedImage image, float quality) throws IOException {
+        byte[] bytes = encode(image, encodeFormat, quality);
+        return imgbbService.uploadBase64Image(Base64.getEncoder().encodeToString(bytes));
+    }
+
+    private static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
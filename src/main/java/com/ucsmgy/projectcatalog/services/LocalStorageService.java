@@ -0,0 +1,154 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.dropbox.core.DbxException;
+import com.dropbox.core.v2.files.WriteMode;
+import com.ucsmgy.projectcatalog.entities.StoredFile;
+import com.ucsmgy.projectcatalog.repositories.StoredFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * {@link CloudStorageService} backed by {@link LocalContentStore}. With {@code storage.type=local} the
+ * local disk is the only copy; with {@code storage.type=tiered} every new blob is also pushed to Dropbox
+ * and blobs missing from disk are pulled back from there on first read.
+ */
+@Slf4j
+@Service
+public class LocalStorageService implements CloudStorageService {
+
+    private static final int MAX_FILENAME_LENGTH = 100;
+    private static final int MAX_URL_LENGTH = 255;
+
+    private final LocalContentStore contentStore;
+    private final StoredFileRepository storedFileRepository;
+    private final DropboxStorageService dropboxStorageService;
+    private final boolean tiered;
+    private final String publicUrl;
+
+    public LocalStorageService(LocalContentStore contentStore,
+                               StoredFileRepository storedFileRepository,
+                               DropboxStorageService dropboxStorageService,
+                               @Value("${storage.type:dropbox}") String storageType,
+                               @Value("${storage.local.public-url:/files}") String publicUrl) {
+        this.contentStore = contentStore;
+        this.storedFileRepository = storedFileRepository;
+        this.dropboxStorageService = dropboxStorageService;
+        this.tiered = "tiered".equalsIgnoreCase(storageType);
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+    }
+
+    @Override
+    public String uploadFile(MultipartFile multipartFile) throws IOException, DbxException {
+        if (multipartFile == null || multipartFile.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be null or empty");
+        }
+
+        LocalContentStore.StoredBlob blob;
+        try (InputStream in = multipartFile.getInputStream()) {
+            blob = contentStore.store(in);
+        }
+
+        StoredFile storedFile = storedFileRepository.findById(blob.sha256()).orElseGet(() -> {
+            StoredFile created = new StoredFile();
+            created.setSha256(blob.sha256());
+            created.setSize(blob.size());
+            created.setContentType(multipartFile.getContentType());
+            return created;
+        });
+        if (tiered && storedFile.getRemotePath() == null) {
+            String remotePath = "/cas/" + blob.sha256();
+            try (InputStream in = Files.newInputStream(contentStore.find(blob.sha256()).orElseThrow())) {
+                dropboxStorageService.upload(remotePath, in, WriteMode.OVERWRITE);
+            }
+            storedFile.setRemotePath(remotePath);
+        }
+        storedFileRepository.save(storedFile);
+
+        return publicUrl + "/" + blob.sha256() + "/" + encodeFilename(multipartFile.getOriginalFilename());
+    }
+
+    /**
+     * Extracts the content hash from a URL returned by {@link #uploadFile}, if it is one.
+     */
+    public Optional<String> hashFromUrl(String url) {
+        if (url == null || !url.startsWith(publicUrl + "/")) {
+            return Optional.empty();
+        }
+        String rest = url.substring(publicUrl.length() + 1);
+        int slash = rest.indexOf('/');
+        String sha256 = slash >= 0 ? rest.substring(0, slash) : rest;
+        return contentStore.isValidHash(sha256) ? Optional.of(sha256) : Optional.empty();
+    }
+
+    public Optional<StoredFile> describe(String sha256) {
+        if (!contentStore.isValidHash(sha256)) {
+            return Optional.empty();
+        }
+        return storedFileRepository.findById(sha256);
+    }
+
+    public Optional<Path> open(String sha256) throws IOException {
+        Optional<Path> local = contentStore.find(sha256);
+        if (local.isPresent() || !tiered) {
+            return local;
+        }
+        Optional<StoredFile> storedFile = describe(sha256);
+        if (storedFile.isEmpty() || storedFile.get().getRemotePath() == null) {
+            return Optional.empty();
+        }
+        log.info("Local blob {} missing, restoring from {}", sha256, storedFile.get().getRemotePath());
+        restoreFromRemote(sha256, storedFile.get().getRemotePath());
+        return contentStore.find(sha256);
+    }
+
+    private void restoreFromRemote(String sha256, String remotePath) throws IOException {
+        Path temp = Files.createTempFile("restore-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                dropboxStorageService.download(remotePath, out);
+            } catch (DbxException e) {
+                throw new IOException("Failed to download " + remotePath, e);
+            }
+            try (InputStream in = Files.newInputStream(temp)) {
+                LocalContentStore.StoredBlob blob = contentStore.store(in);
+                if (!blob.sha256().equals(sha256)) {
+                    throw new IOException("Content of " + remotePath + " does not match " + sha256);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * URL-encoded file name for the public URL, trimmed from the front (keeping the extension) one
+     * code point at a time until the whole URL fits the 255 character URL columns.
+     */
+    private String encodeFilename(String originalFilename) {
+        String name = originalFilename == null || originalFilename.isBlank() ? "file"
+                : originalFilename.substring(Math.max(originalFilename.lastIndexOf('/'), originalFilename.lastIndexOf('\\')) + 1);
+        // Room left after "<publicUrl>/<sha256>/".
+        int budget = Math.min(MAX_FILENAME_LENGTH, MAX_URL_LENGTH - publicUrl.length() - 66);
+        String encoded = encode(name);
+        while (encoded.length() > budget && !name.isEmpty()) {
+            name = name.substring(name.offsetByCodePoints(0, 1));
+            encoded = encode(name);
+        }
+        return name.isEmpty() ? "file" : encoded;
+    }
+
+    private static String encode(String name) {
+        return URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,190 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.repositories.ProjectReactionRepository;
+import com.ucsmgy.projectcatalog.repositories.SavedProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Which projects each active user has reacted to and saved, held as sorted {@code long[]} so the
+ * per-card status checks are a binary search instead of a query. A user's sets are loaded on first
+ * use, dropped after {@code membership.idle-timeout} without lookups, and updated by
+ * {@link ReactionService} and {@link SavedProjectService} once their writes commit. Those updates only
+ * reach this node, so sets are also reloaded once they are {@code membership.max-age} old; that bounds
+ * how long writes from other nodes, or rows removed with a deleted project, can go unnoticed.
+ */
+@Slf4j
+@Service
+public class MembershipIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ProjectReactionRepository reactionRepository;
+    private final SavedProjectRepository savedProjectRepository;
+    private final long idleTimeoutMillis;
+    private final long maxAgeMillis;
+    private final int maxUsers;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public MembershipIndex(ProjectReactionRepository reactionRepository,
+                           SavedProjectRepository savedProjectRepository,
+                           @Value("${membership.idle-timeout:PT30M}") Duration idleTimeout,
+                           @Value("${membership.max-age:PT2M}") Duration maxAge,
+                           @Value("${membership.max-users:50000}") int maxUsers) {
+        this.reactionRepository = reactionRepository;
+        this.savedProjectRepository = savedProjectRepository;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.maxAgeMillis = maxAge.toMillis();
+        this.maxUsers = maxUsers;
+    }
+
+    public boolean hasReacted(Long userId, Long projectId) {
+        return Arrays.binarySearch(sets(userId).reacted(), projectId) >= 0;
+    }
+
+    public boolean hasSaved(Long userId, Long projectId) {
+        return Arrays.binarySearch(sets(userId).saved(), projectId) >= 0;
+    }
+
+    public Sets sets(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            if (entries.size() >= maxUsers) {
+                // Full: answer from the database without caching until idle users are swept.
+                return load(userId);
+            }
+            entry = entries.computeIfAbsent(userId, id -> new Entry());
+        }
+        long now = System.currentTimeMillis();
+        entry.lastAccess = now;
+        Sets sets = entry.sets;
+        if (sets != null && now - entry.loadedAt < maxAgeMillis) {
+            return sets;
+        }
+
+        long writes = entry.writes;
+        Sets loaded = load(userId);
+        synchronized (entry) {
+            // A write that committed while loading may be missing from the result; reload next time.
+            if (entry.sets == sets && entry.writes == writes) {
+                entry.sets = loaded;
+                entry.loadedAt = now;
+            }
+        }
+        return loaded;
+    }
+
+    public void reactionAdded(Long userId, Long projectId) {
+        update(userId, sets -> new Sets(insert(sets.reacted(), projectId), sets.saved()));
+    }
+
+    public void reactionRemoved(Long userId, Long projectId) {
+        update(userId, sets -> new Sets(remove(sets.reacted(), projectId), sets.saved()));
+    }
+
+    public void projectSaved(Long userId, Long projectId) {
+        update(userId, sets -> new Sets(sets.reacted(), insert(sets.saved(), projectId)));
+    }
+
+    public void projectUnsaved(Long userId, Long projectId) {
+        update(userId, sets -> new Sets(sets.reacted(), remove(sets.saved(), projectId)));
+    }
+
+    @Scheduled(fixedDelayString = "${membership.sweep-interval:PT1M}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.lastAccess < cutoff);
+        int evicted = before - entries.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle membership entries", evicted);
+        }
+    }
+
+    private void update(Long userId, UnaryOperator<Sets> change) {
+        Runnable apply = () -> {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                return;
+            }
+            synchronized (entry) {
+                entry.writes++;
+                if (entry.sets != null) {
+                    entry.sets = change.apply(entry.sets);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private Sets load(Long userId) {
+        return new Sets(sorted(reactionRepository.findProjectIdsByUserId(userId)),
+                sorted(savedProjectRepository.findProjectIdsByUserId(userId)));
+    }
+
+    private static long[] sorted(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return EMPTY;
+        }
+        long[] array = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static long[] insert(long[] array, long value) {
+        int index = Arrays.binarySearch(array, value);
+        if (index >= 0) {
+            return array;
+        }
+        int at = -index - 1;
+        long[] copy = new long[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+
+    private static long[] remove(long[] array, long value) {
+        int index = Arrays.binarySearch(array, value);
+        if (index < 0) {
+            return array;
+        }
+        long[] copy = new long[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 1, copy, index, array.length - index - 1);
+        return copy;
+    }
+
+    /**
+     * Immutable snapshot of one user's reacted and saved project IDs, each sorted ascending.
+     */
+    public record Sets(long[] reacted, long[] saved) {
+    }
+
+    private static final class Entry {
+        private volatile Sets sets;
+        private volatile long writes;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private volatile long loadedAt;
+    }
+}
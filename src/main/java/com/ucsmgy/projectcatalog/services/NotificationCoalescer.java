@@ -0,0 +1,109 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.config.WebSocketHandler;
+import com.ucsmgy.projectcatalog.entities.Notification;
+import com.ucsmgy.projectcatalog.repositories.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Folds bursts of same-type notifications for one recipient and project into a single row: within
+ * {@code notifications.coalesce.window} of an unread notification, another reaction or comment
+ * updates it in place ("X and 37 others reacted") instead of inserting a row. Only a user not yet
+ * in the aggregate's {@code actor_ids} raises its count, so one person reacting, un-reacting and
+ * reacting again stays one actor. Frames for updated rows
+ * are pushed at most once per {@code notifications.coalesce.push-interval}, carrying the latest state.
+ */
+@Service
+public class NotificationCoalescer {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final WebSocketHandler webSocketHandler;
+    private final Duration window;
+    private final Map<Long, Notification> pendingPushes = new ConcurrentHashMap<>();
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 NotificationService notificationService,
+                                 WebSocketHandler webSocketHandler,
+                                 @Value("${notifications.coalesce.window:PT10M}") Duration window) {
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+        this.webSocketHandler = webSocketHandler;
+        this.window = window;
+    }
+
+    /**
+     * Saves {@code notification}, or merges it into a recent unread one of the same type. Must run in
+     * a transaction.
+     *
+     * @param actorId   who caused this notification, or null if unknown (always counted as new)
+     * @param actorName who caused this notification, shown as the latest actor of the aggregate
+     */
+    public void saveOrCoalesce(Notification notification, Long actorId, String actorName) {
+        notificationRepository.lockRecipientProject(notification.getRecipientUserId(), notification.getProjectId());
+        List<Notification> recent = notificationRepository.findCoalescible(notification.getRecipientUserId(),
+                notification.getProjectId(), notification.getNotificationType(), Instant.now().minus(window), Limit.of(1));
+        if (recent.isEmpty()) {
+            notification.setActorIds(actorId != null ? new Long[]{actorId} : new Long[0]);
+            notificationService.saveAndSendNotification(notification);
+            return;
+        }
+
+        Notification aggregate = recent.get(0);
+        Long[] actorIds = aggregate.getActorIds();
+        if (actorId == null || !Arrays.asList(actorIds).contains(actorId)) {
+            if (actorId != null) {
+                actorIds = Arrays.copyOf(actorIds, actorIds.length + 1);
+                actorIds[actorIds.length - 1] = actorId;
+                aggregate.setActorIds(actorIds);
+            }
+            aggregate.setActorCount(aggregate.getActorCount() + 1);
+        }
+        if (aggregate.getActorCount() > 1) {
+            aggregate.setMessage(message(aggregate, actorName));
+        }
+        aggregate.setCommentId(notification.getCommentId());
+        aggregate.setCommentText(notification.getCommentText());
+        aggregate.setCommenterName(notification.getCommenterName());
+        aggregate.setUpdatedAt(Instant.now());
+        Notification saved = notificationRepository.save(aggregate);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pendingPushes.put(saved.getId(), saved);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.coalesce.push-interval:PT2S}")
+    public void pushUpdates() {
+        for (Long notificationId : pendingPushes.keySet()) {
+            Notification notification = pendingPushes.remove(notificationId);
+            if (notification != null) {
+                webSocketHandler.sendNotificationToUser(notification.getRecipientUserId(), notification);
+            }
+        }
+    }
+
+    private static String message(Notification aggregate, String actorName) {
+        int others = aggregate.getActorCount() - 1;
+        String andOthers = " and " + others + (others == 1 ? " other" : " others");
+        if ("REACTION".equals(aggregate.getNotificationType())) {
+            return actorName + andOthers + " reacted to your project '" + aggregate.getProjectTitle() + "'";
+        }
+        return actorName + andOthers + " commented on your project.";
+    }
+}
@@ -0,0 +1,96 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.config.WebSocketHandler;
+import com.ucsmgy.projectcatalog.entities.NotificationCounter;
+import com.ucsmgy.projectcatalog.repositories.NotificationCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user unread and total notification counts kept in {@code notification_counters}, adjusted in
+ * the same transaction as the notification change so the bell badge is a primary-key read. Users
+ * whose counts changed get the new values pushed on {@code /topic/notifications/{id}/count}, batched
+ * per push interval, so clients don't need to poll.
+ */
+@Slf4j
+@Service
+public class NotificationCounterService {
+
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final WebSocketHandler webSocketHandler;
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    public NotificationCounterService(NotificationCounterRepository notificationCounterRepository,
+                                      WebSocketHandler webSocketHandler) {
+        this.notificationCounterRepository = notificationCounterRepository;
+        this.webSocketHandler = webSocketHandler;
+    }
+
+    public NotificationService.NotificationCount get(String userEmail) {
+        return notificationCounterRepository.findByUserEmail(userEmail)
+                .map(counter -> new NotificationService.NotificationCount(counter.getUnreadCount(), counter.getTotalCount()))
+                .orElseGet(() -> new NotificationService.NotificationCount(0, 0));
+    }
+
+    /**
+     * Must run in the transaction that changes the user's notifications.
+     */
+    public void adjust(Long userId, long unreadDelta, long totalDelta) {
+        if (unreadDelta == 0 && totalDelta == 0) {
+            return;
+        }
+        notificationCounterRepository.adjust(userId, unreadDelta, totalDelta);
+        pushAfterCommit(userId);
+    }
+
+    public void reset(Long userId) {
+        notificationCounterRepository.reset(userId);
+        pushAfterCommit(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.counters.push-interval:PT1S}")
+    public void pushChanges() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(changed);
+        changed.removeAll(userIds);
+        Set<Long> missing = new HashSet<>(userIds);
+        for (NotificationCounter counter : notificationCounterRepository.findByUserIdIn(userIds)) {
+            missing.remove(counter.getUserId());
+            webSocketHandler.sendNotificationCount(counter.getUserId(),
+                    new NotificationService.NotificationCount(counter.getUnreadCount(), counter.getTotalCount()));
+        }
+        missing.forEach(userId -> webSocketHandler.sendNotificationCount(userId, new NotificationService.NotificationCount(0, 0)));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.counters.reconcile-interval:PT1H}", initialDelayString = "${notifications.counters.reconcile-interval:PT1H}")
+    public void reconcile() {
+        int corrected = notificationCounterRepository.reconcile();
+        if (corrected > 0) {
+            log.info("Reconciled notification counters of {} users", corrected);
+        }
+    }
+
+    private void pushAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.add(userId);
+                }
+            });
+        } else {
+            changed.add(userId);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ucsmgy.projectcatalog.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs notification delivery on virtual threads, at most {@code notifications.executor.concurrency}
+ * at a time, with a bounded queue in front. When the queue is full the submitting thread waits up to
+ * {@code notifications.executor.offer-timeout} for room, slowing a burst down at its source; only after
+ * that is the task rejected. Pollers that can hold work back themselves use {@link #trySubmit} and
+ * {@link #remainingCapacity} instead, and never wait. Kept apart from the default async executor so a
+ * reaction storm can't starve other background work.
+ */
+@Slf4j
+@Component
+public class NotificationExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long offerTimeoutNanos;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public NotificationExecutor(@Value("${notifications.executor.concurrency:8}") int concurrency,
+                                @Value("${notifications.executor.queue-capacity:1000}") int queueCapacity,
+                                @Value("${notifications.executor.offer-timeout:PT2S}") Duration offerTimeout) {
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("notification-", 0).factory(),
+                this::waitForRoom);
+        // trySubmit queues directly, which relies on every worker already running.
+        this.executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Queues {@code task}, waiting for room when the queue is full.
+     *
+     * @return false if the task was rejected
+     */
+    public boolean submit(Runnable task) {
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(task, queuedAt));
+            submitted.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Notification queue is full, dropping task");
+            return false;
+        }
+    }
+
+    /**
+     * Queues {@code task} only if there is room right now.
+     *
+     * @return false if the queue was full
+     */
+    public boolean trySubmit(Runnable task) {
+        long queuedAt = System.nanoTime();
+        if (executor.isShutdown() || !executor.getQueue().offer(() -> run(task, queuedAt))) {
+            rejected.increment();
+            return false;
+        }
+        submitted.increment();
+        return true;
+    }
+
+    public int remainingCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    public Stats stats() {
+        long done = completed.sum() + failed.sum();
+        return new Stats(executor.getQueue().size(), executor.getQueue().remainingCapacity(), executor.getActiveCount(),
+                submitted.sum(), completed.sum(), failed.sum(), rejected.sum(), blocked.sum(),
+                done == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.sum() / done),
+                TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get()),
+                done == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(runNanos.sum() / done));
+    }
+
+    private void run(Runnable task, long queuedAt) {
+        long startedAt = System.nanoTime();
+        long waited = startedAt - queuedAt;
+        queueWaitNanos.add(waited);
+        maxQueueWaitNanos.accumulate(waited);
+        try {
+            task.run();
+            completed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Notification task failed", e);
+        } finally {
+            runNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    private void waitForRoom(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Notification executor is shut down");
+        }
+        blocked.increment();
+        try {
+            if (!pool.getQueue().offer(task, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new RejectedExecutionException("Notification queue stayed full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the notification queue", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Dropping {} queued notification tasks on shutdown", executor.shutdownNow().size());
+        }
+    }
+
+    public record Stats(int queueDepth, int queueRemaining, int active, long submitted, long completed, long failed,
+                        long rejected, long blocked, long avgQueueWaitMillis, long maxQueueWaitMillis,
+                        long avgRunMillis) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucsmgy.projectcatalog.entities.Notification;
+import com.ucsmgy.projectcatalog.entities.Project;
+import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.repositories.CommentRepository;
+import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
+import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Delivers notifications written to the outbox by {@link com.ucsmgy.projectcatalog.events.NotificationEventListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxHandler implements OutboxHandler {
+
+    public static final String NOTIFICATION = "NOTIFICATION";
+    public static final String REACTION = "REACTION";
+
+    private final NotificationService notificationService;
+    private final NotificationCoalescer notificationCoalescer;
+    private final ProjectRepository projectRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Set<String> eventTypes() {
+        return Set.of(NOTIFICATION, REACTION);
+    }
+
+    @Override
+    public void handle(String eventType, String payload) throws Exception {
+        if (REACTION.equals(eventType)) {
+            deliverReaction(objectMapper.readValue(payload, ReactionPayload.class));
+        } else {
+            Notification notification = objectMapper.readValue(payload, Notification.class);
+            if ("COMMENT".equals(notification.getNotificationType())) {
+                Long commenterId = notification.getCommentId() == null ? null
+                        : commentRepository.findUserIdById(notification.getCommentId()).orElse(null);
+                notificationCoalescer.saveOrCoalesce(notification, commenterId, notification.getCommenterName());
+            } else {
+                notificationService.saveAndSendNotification(notification);
+            }
+        }
+    }
+
+    private void deliverReaction(ReactionPayload reaction) {
+        // Resolved here rather than in the toggle so a click stays a single statement.
+        Project project = projectRepository.findById(reaction.projectId()).orElse(null);
+        User reactor = userRepository.findById(reaction.reactorId()).orElse(null);
+        if (project == null || reactor == null) {
+            return;
+        }
+
+        Notification notification = new Notification();
+        notification.setRecipientUserId(project.getUser().getId());
+        notification.setMessage("Your project '" + project.getTitle() + "' is reacted by" + reactor.getName());
+        notification.setProjectId(reaction.projectId());
+        notification.setNotificationType("REACTION");
+        notification.setProjectTitle(project.getTitle());
+        notification.setRejectionReason(null);
+
+        notificationCoalescer.saveOrCoalesce(notification, reactor.getId(), reactor.getName());
+    }
+
+    public record ReactionPayload(Long projectId, Long reactorId) {
+    }
+}
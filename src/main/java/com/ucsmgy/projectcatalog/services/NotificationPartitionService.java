@@ -0,0 +1,91 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.repositories.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of {@code notifications}: creates the coming months ahead of time
+ * so rows don't land in the default partition (any that did are moved into the month's partition once
+ * it is created), and expires months older than
+ * {@code notifications.partitions.retention} by detaching the whole partition, which is cheap
+ * regardless of its size and leaves no dead tuples behind the way a mass DELETE would. Expired
+ * months are moved to the {@code notifications_archive} schema, or dropped when archiving is off.
+ * Unread notifications are kept; only their read neighbours expire.
+ */
+@Slf4j
+@Service
+public class NotificationPartitionService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounterService notificationCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final Period retention;
+    private final boolean archive;
+
+    public NotificationPartitionService(NotificationRepository notificationRepository,
+                                        NotificationCounterService notificationCounterService,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${notifications.partitions.months-ahead:3}") int monthsAhead,
+                                        @Value("${notifications.partitions.retention:P12M}") Period retention,
+                                        @Value("${notifications.partitions.archive:true}") boolean archive) {
+        this.notificationRepository = notificationRepository;
+        this.notificationCounterService = notificationCounterService;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retention = retention;
+        this.archive = archive;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${notifications.partitions.cron:0 30 3 * * *}", zone = "UTC")
+    public synchronized void maintain() {
+        try {
+            createUpcoming();
+            if (!retention.isZero()) {
+                expire();
+            }
+        } catch (RuntimeException e) {
+            log.error("Notification partition maintenance failed", e);
+        }
+    }
+
+    // One transaction per month, so a month that fails doesn't hold back the others.
+    private void createUpcoming() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        notificationRepository.createPartition(month.atDay(1)));
+            } catch (RuntimeException e) {
+                log.error("Failed to create the notification partition for {}", month, e);
+            }
+        }
+    }
+
+    private void expire() {
+        Instant cutoff = ZonedDateTime.now(ZoneOffset.UTC).minus(retention).toInstant();
+        List<String> expired = transactionTemplate.execute(status ->
+                notificationRepository.expirePartitions(cutoff, archive));
+        if (expired == null || expired.isEmpty()) {
+            return;
+        }
+        log.info("{} notification partitions {}", archive ? "Archived" : "Dropped", expired);
+        // The expired rows were still counted.
+        notificationCounterService.reconcile();
+    }
+}
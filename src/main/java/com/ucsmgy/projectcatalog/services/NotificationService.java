@@ -1,70 +1,220 @@
 package com.ucsmgy.projectcatalog.services;
 
+import com.ucsmgy.projectcatalog.dtos.NotificationPageDTO;
+import com.ucsmgy.projectcatalog.dtos.NotificationReplayDTO;
 import com.ucsmgy.projectcatalog.entities.Notification;
 import com.ucsmgy.projectcatalog.entities.User;
 import com.ucsmgy.projectcatalog.repositories.NotificationRepository;
 import com.ucsmgy.projectcatalog.repositories.UserRepository;
 import com.ucsmgy.projectcatalog.config.WebSocketHandler;
+import com.ucsmgy.projectcatalog.util.KeysetCursor;
 import jakarta.transaction.Transactional;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_REPLAY_SIZE = 200;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final WebSocketHandler webSocketHandler;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationStreamService notificationStreamService;
+
+    @Value("${notifications.coalesce.window:PT10M}")
+    private Duration coalesceWindow;
 
+    @Value("${notifications.replay.grace:PT1M}")
+    private Duration replayGrace;
 
+
+    @Transactional
     public void saveAndSendNotification(Notification notification) {
+        // Insert time rather than when the event was queued; replays rely on it to find late commits.
+        notification.setCreatedAt(Instant.now());
         Notification savedNotification = notificationRepository.save(notification);
+        notificationCounterService.adjust(notification.getRecipientUserId(), notification.isRead() ? 0 : 1, 1);
 
-        webSocketHandler.sendNotificationToUser(
+        // Never push a notification whose row could still roll back.
+        Runnable send = () -> webSocketHandler.sendNotificationToUser(
                 notification.getRecipientUserId(),
                 savedNotification
         );
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
     }
 
-    public List<Notification> getUserNotifications(String userEmail) {
+    public List<Notification> getUserNotifications(String userEmail, int limit) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        return notificationRepository.findByRecipientUserIdOrderByCreatedAtDesc(user.getId());
+        return notificationRepository.findByRecipientUserIdOrderByCreatedAtDescIdDesc(user.getId(), Limit.of(pageSize(limit)));
     }
 
-    public void markAsRead(Long notificationId, String userEmail) {
+    /**
+     * Newest-first page of the user's inbox; pass the previous page's {@code nextCursor} to continue.
+     */
+    public NotificationPageDTO getNotificationPage(String userEmail, String cursor, int limit, boolean unreadOnly) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Notification notification = notificationRepository.findByIdAndRecipientUserId(notificationId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Notification not found"));
-        
-        notification.setRead(true);
-        notificationRepository.save(notification);
+
+        int size = pageSize(limit);
+        Limit fetch = Limit.of(size + 1);
+        List<Notification> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = unreadOnly
+                    ? notificationRepository.findByRecipientUserIdAndIsReadFalseOrderByCreatedAtDescIdDesc(user.getId(), fetch)
+                    : notificationRepository.findByRecipientUserIdOrderByCreatedAtDescIdDesc(user.getId(), fetch);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            // Cursors carry UTC wall-clock time; created_at is a timestamptz.
+            Instant createdAt = after.timestamp().toInstant(ZoneOffset.UTC);
+            notifications = unreadOnly
+                    ? notificationRepository.findUnreadInboxBefore(user.getId(), createdAt, after.id(), fetch)
+                    : notificationRepository.findInboxBefore(user.getId(), createdAt, after.id(), fetch);
+        }
+
+        String nextCursor = null;
+        if (notifications.size() > size) {
+            notifications = notifications.subList(0, size);
+            Notification last = notifications.get(size - 1);
+            nextCursor = new KeysetCursor(LocalDateTime.ofInstant(last.getCreatedAt(), ZoneOffset.UTC), last.getId()).encode();
+        }
+        return NotificationPageDTO.builder()
+                .notifications(notifications)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    public void markAllAsRead(String userEmail) {
+    public NotificationReplayDTO getMissedNotifications(String userEmail, long lastSeenId) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<Notification> notifications = notificationRepository.findByRecipientUserIdAndIsReadFalse(user.getId());
-        notifications.forEach(notification -> notification.setRead(true));
-        notificationRepository.saveAll(notifications);
+        return getMissedNotifications(user.getId(), lastSeenId);
     }
 
-    public void deleteNotification(Long notificationId, String userEmail) {
+    /**
+     * What a client that last saw {@code lastSeenId} missed while disconnected: newer notifications
+     * and aggregates updated since, oldest first. Clients should subscribe before asking, and drop
+     * duplicates by ID, since pushes can arrive while the replay is being read.
+     * <p>
+     * IDs are handed out at insert but become visible at commit, so a notification with a lower ID than
+     * the last seen one may have committed after it. Everything created within
+     * {@code notifications.replay.grace} before the last seen notification is replayed as well.
+     */
+    public NotificationReplayDTO getMissedNotifications(Long userId, long lastSeenId) {
+        // Aggregates whose updated_at is after the last seen notification was created changed since.
+        Instant updatedSince = notificationRepository
+                .findFirstByRecipientUserIdAndIdLessThanEqualOrderByIdDesc(userId, lastSeenId)
+                .map(Notification::getCreatedAt)
+                .orElse(Instant.EPOCH);
+        Instant createdSince = updatedSince.equals(Instant.EPOCH) ? Instant.EPOCH : updatedSince.minus(replayGrace);
+        // Aggregates only absorb notifications within the coalescing window of their creation.
+        Instant createdAfter = updatedSince.minus(coalesceWindow);
+        if (createdSince.isBefore(createdAfter)) {
+            createdAfter = createdSince;
+        }
+        List<Notification> missed = notificationRepository.findChangedSince(userId, lastSeenId, createdSince,
+                updatedSince, createdAfter, Limit.of(MAX_REPLAY_SIZE + 1));
+
+        boolean complete = missed.size() <= MAX_REPLAY_SIZE;
+        return NotificationReplayDTO.builder()
+                .notifications(complete ? missed : missed.subList(0, MAX_REPLAY_SIZE))
+                .complete(complete)
+                .build();
+    }
+
+    /**
+     * Opens an SSE stream of the user's notifications and counts. With {@code lastEventId} (the
+     * {@code Last-Event-ID} a reconnecting client sends) the stream starts with what was missed, or
+     * with a {@code reload} event when that is more than one replay holds.
+     */
+    public SseEmitter openStream(String userEmail, Long lastEventId) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Opened before reading the replay, so nothing sent in between is lost; at worst it arrives twice.
+        SseEmitter emitter = notificationStreamService.open(user.getId());
+        if (lastEventId != null) {
+            NotificationReplayDTO missed = getMissedNotifications(user.getId(), lastEventId);
+            for (Notification notification : missed.getNotifications()) {
+                notificationStreamService.sendTo(emitter, user.getId(), "notifications", notification);
+            }
+            if (!missed.isComplete()) {
+                notificationStreamService.sendTo(emitter, user.getId(), "reload", Map.of("complete", false));
+            }
+        }
+        return emitter;
+    }
+
+    @Transactional
+    public void markAsRead(Long notificationId, String userEmail) {
+        if (markAsRead(List.of(notificationId), userEmail) == 0 && !isOwnNotification(notificationId, userEmail)) {
+            throw new RuntimeException("Notification not found");
+        }
+    }
+
+    /**
+     * Marks the user's notifications among {@code notificationIds} read in one statement; IDs that
+     * aren't the user's or are already read are ignored.
+     *
+     * @return how many notifications changed
+     */
+    @Transactional
+    public int markAsRead(Collection<Long> notificationIds, String userEmail) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> recipients = notificationRepository.markReadByIdsAndEmail(notificationIds, userEmail);
+        if (!recipients.isEmpty()) {
+            notificationCounterService.adjust(recipients.get(0), -recipients.size(), 0);
+        }
+        return recipients.size();
+    }
+
+    @Transactional
+    public int markAllAsRead(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        Notification notification = notificationRepository.findByIdAndRecipientUserId(notificationId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Notification not found"));
-        
-        notificationRepository.delete(notification);
+        int updated = notificationRepository.markAllReadByRecipientUserId(user.getId());
+        notificationCounterService.adjust(user.getId(), -updated, 0);
+        return updated;
+    }
+
+    @Transactional
+    public void deleteNotification(Long notificationId, String userEmail) {
+        List<Object[]> deleted = notificationRepository.deleteByIdAndEmail(notificationId, userEmail);
+        if (deleted.isEmpty()) {
+            throw new RuntimeException("Notification not found");
+        }
+        Object[] row = deleted.get(0);
+        notificationCounterService.adjust(((Number) row[0]).longValue(), Boolean.TRUE.equals(row[1]) ? 0 : -1, -1);
     }
 
     @Transactional
@@ -73,16 +223,11 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         notificationRepository.deleteByRecipientUserId(user.getId());
+        notificationCounterService.reset(user.getId());
     }
 
     public NotificationCount getNotificationCount(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        long totalCount = notificationRepository.countByRecipientUserId(user.getId());
-        long unreadCount = notificationRepository.countByRecipientUserIdAndIsReadFalse(user.getId());
-        
-        return new NotificationCount(unreadCount, totalCount);
+        return notificationCounterService.get(userEmail);
     }
 
     @Setter
@@ -97,4 +242,14 @@ public class NotificationService {
         }
 
     }
-}
\ No newline at end of file
+
+    private boolean isOwnNotification(Long notificationId, String userEmail) {
+        return userRepository.findByEmail(userEmail)
+                .map(user -> notificationRepository.existsByIdAndRecipientUserId(notificationId, user.getId()))
+                .orElse(false);
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,203 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events streams of a user's notifications and counts, for clients that don't need
+ * STOMP. Streams are async servlet requests, so an idle one holds no thread; each stream's events are
+ * written in order by a short-lived virtual thread, so a slow client never blocks the sender. A user
+ * may hold {@code notifications.stream.max-per-user} streams on a node; opening another closes the
+ * oldest, which is usually one whose client already went away. A stream that falls more than
+ * {@code notifications.stream.max-pending} events behind is closed; the client reconnects and catches up
+ * through the replay.
+ */
+@Service
+public class NotificationStreamService {
+
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Duration retry;
+    private final int maxPerUser;
+    private final int maxPending;
+    private final Map<Long, Deque<Stream>> streams = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notification-stream-", 0).factory());
+
+    public NotificationStreamService(ObjectMapper objectMapper,
+                                     @Value("${notifications.stream.timeout:PT30M}") Duration timeout,
+                                     @Value("${notifications.stream.retry:PT5S}") Duration retry,
+                                     @Value("${notifications.stream.max-per-user:3}") int maxPerUser,
+                                     @Value("${notifications.stream.max-pending:256}") int maxPending) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.retry = retry;
+        this.maxPerUser = Math.max(1, maxPerUser);
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    public SseEmitter open(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Stream stream = new Stream(userId, emitter);
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        // Added inside compute so a concurrent remove() can't drop the deque this stream went into.
+        Deque<Stream> userStreams = streams.compute(userId, (id, existing) -> {
+            Deque<Stream> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.add(stream);
+            return deque;
+        });
+        while (userStreams.size() > maxPerUser) {
+            Stream oldest = userStreams.pollFirst();
+            if (oldest != null) {
+                oldest.emitter.complete();
+            }
+        }
+        stream.enqueue(SseEmitter.event().reconnectTime(retry.toMillis()).comment("connected").build());
+        return emitter;
+    }
+
+    /**
+     * Sends {@code payload} as event {@code name} to every stream of the user on this node. New
+     * notifications use their {@code id} as the event ID, which clients send back as {@code Last-Event-ID}.
+     * Updates of older, coalesced notifications (those with an {@code updatedAt}) carry no event ID, so
+     * they can't move a client's position back.
+     */
+    public void send(Long userId, String name, Object payload) {
+        Deque<Stream> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = event(name, payload);
+        for (Stream stream : userStreams) {
+            stream.enqueue(event);
+        }
+    }
+
+    /**
+     * Sends {@code payload} to one stream only, e.g. the replay for the stream that asked for it.
+     */
+    public void sendTo(SseEmitter emitter, Long userId, String name, Object payload) {
+        Deque<Stream> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        for (Stream stream : userStreams) {
+            if (stream.emitter == emitter) {
+                stream.enqueue(event(name, payload));
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that went away without closing.
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat:PT20S}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Deque<Stream> userStreams : streams.values()) {
+            for (Stream stream : userStreams) {
+                stream.enqueue(heartbeat);
+            }
+        }
+    }
+
+    // Serialized once and shared by all streams it goes to.
+    private Set<ResponseBodyEmitter.DataWithMediaType> event(String name, Object payload) {
+        JsonNode json = objectMapper.valueToTree(payload);
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(name);
+        if (json.hasNonNull("id") && !json.hasNonNull("updatedAt")) {
+            event.id(json.get("id").asText());
+        }
+        try {
+            return event.data(objectMapper.writeValueAsString(json), MediaType.APPLICATION_JSON).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(userStreams -> userStreams.forEach(stream -> stream.emitter.complete()));
+        writers.shutdownNow();
+    }
+
+    private final class Stream {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicBoolean closing = new AtomicBoolean();
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (pendingCount.incrementAndGet() > maxPending) {
+                // The client can't keep up; better it reconnects and replays than we buffer without bound.
+                pendingCount.decrementAndGet();
+                if (closing.compareAndSet(false, true)) {
+                    remove(this);
+                    emitter.complete();
+                }
+                return;
+            }
+            pending.add(event);
+            if (writing.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // The client is gone.
+                        pending.clear();
+                        remove(this);
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+                writing.set(false);
+                // An event queued after the last poll but before the flag was cleared still needs a writer.
+            } while (!pending.isEmpty() && writing.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ucsmgy.projectcatalog.services;
+
+import java.util.Set;
+
+/**
+ * Delivers events of the given types from the outbox. Delivery is at-least-once: {@link #handle} runs
+ * in the transaction that marks the event done, so its database writes commit exactly once, but side
+ * effects outside the database should tolerate a repeat.
+ */
+public interface OutboxHandler {
+
+    Set<String> eventTypes();
+
+    void handle(String eventType, String payload) throws Exception;
+}
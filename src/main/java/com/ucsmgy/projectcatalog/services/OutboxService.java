@@ -0,0 +1,161 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucsmgy.projectcatalog.entities.OutboxEvent;
+import com.ucsmgy.projectcatalog.repositories.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Transactional outbox. {@link #enqueue} writes an event in the caller's transaction, so it exists
+ * exactly when the business change committed; a poller claims due events in batches with
+ * {@code FOR UPDATE SKIP LOCKED} (safe across nodes) and hands them to their {@link OutboxHandler} on
+ * the {@link NotificationExecutor}. A poll claims no more than the executor's queue has room for, so
+ * events wait in the table rather than in memory. Failed deliveries are retried with exponential
+ * backoff up to {@code outbox.max-attempts}, then parked as FAILED.
+ */
+@Slf4j
+@Service
+public class OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationExecutor notificationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, OutboxHandler> handlers = new HashMap<>();
+    private final int batchSize;
+    private final int maxAttempts;
+    private final double leaseSeconds;
+    private final double baseBackoffSeconds;
+    private final double maxBackoffSeconds;
+    private final double retentionSeconds;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         NotificationExecutor notificationExecutor,
+                         TransactionTemplate transactionTemplate,
+                         ObjectMapper objectMapper,
+                         List<OutboxHandler> handlers,
+                         @Value("${outbox.batch-size:100}") int batchSize,
+                         @Value("${outbox.max-attempts:10}") int maxAttempts,
+                         @Value("${outbox.lease:PT1M}") Duration lease,
+                         @Value("${outbox.backoff.initial:PT2S}") Duration initialBackoff,
+                         @Value("${outbox.backoff.max:PT10M}") Duration maxBackoff,
+                         @Value("${outbox.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationExecutor = notificationExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        for (OutboxHandler handler : handlers) {
+            handler.eventTypes().forEach(type -> this.handlers.put(type, handler));
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = lease.toMillis() / 1000.0;
+        this.baseBackoffSeconds = initialBackoff.toMillis() / 1000.0;
+        this.maxBackoffSeconds = maxBackoff.toMillis() / 1000.0;
+        this.retentionSeconds = retention.toSeconds();
+    }
+
+    /**
+     * Writes an event to the outbox in the current transaction, or a new one if there is none. An
+     * event whose {@code dedupeKey} was already written is ignored; pass null for no deduplication.
+     */
+    @Transactional
+    public void enqueue(String eventType, String dedupeKey, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+        if (outboxEventRepository.insertIfAbsent(eventType, dedupeKey, json) == 0) {
+            log.debug("Skipping duplicate {} event {}", eventType, dedupeKey);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:PT1S}")
+    public void poll() {
+        int room = notificationExecutor.remainingCapacity();
+        while (room > 0) {
+            int limit = Math.min(batchSize, room);
+            List<OutboxEvent> batch = outboxEventRepository.claimBatch(limit, leaseSeconds);
+            for (OutboxEvent event : batch) {
+                // Other producers share the queue, so it can still fill up; the event waits for the next poll.
+                if (!notificationExecutor.trySubmit(() -> dispatch(event))) {
+                    outboxEventRepository.scheduleRetry(event.getId(), 0, "Delivery queue was full");
+                }
+            }
+            if (batch.size() < limit) {
+                return;
+            }
+            room -= batch.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval:PT1H}", initialDelayString = "PT1M")
+    public void purge() {
+        int deleted = outboxEventRepository.deleteProcessedBefore(retentionSeconds);
+        if (deleted > 0) {
+            log.info("Purged {} delivered outbox events", deleted);
+        }
+    }
+
+    private void dispatch(OutboxEvent event) {
+        OutboxHandler handler = handlers.get(event.getEventType());
+        if (handler == null) {
+            outboxEventRepository.markFailed(event.getId(), "No handler for event type " + event.getEventType());
+            return;
+        }
+        Optional<Integer> started = outboxEventRepository.startAttempt(event.getId(), leaseSeconds);
+        if (started.isEmpty()) {
+            return;
+        }
+        int attempts = started.get();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Locks the row first, so a second claimer after an expired lease finds it done and stops.
+                if (outboxEventRepository.markDone(event.getId()) == 0) {
+                    return;
+                }
+                try {
+                    handler.handle(event.getEventType(), event.getPayload());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            String error = truncate(String.valueOf(e.getMessage()));
+            if (attempts >= maxAttempts) {
+                log.error("Giving up on outbox event {} ({}) after {} attempts",
+                        event.getId(), event.getEventType(), attempts, e);
+                outboxEventRepository.markFailed(event.getId(), error);
+            } else {
+                log.warn("Outbox event {} ({}) failed, attempt {}", event.getId(), event.getEventType(), attempts, e);
+                outboxEventRepository.scheduleRetry(event.getId(), backoffSeconds(attempts), error);
+            }
+        }
+    }
+
+    private double backoffSeconds(int attempts) {
+        return Math.min(maxBackoffSeconds, baseBackoffSeconds * Math.pow(2, Math.max(0, attempts - 1)));
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
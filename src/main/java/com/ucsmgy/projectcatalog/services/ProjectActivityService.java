@@ -0,0 +1,114 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.config.WebSocketHandler;
+import com.ucsmgy.projectcatalog.dtos.CommentResponseDTO;
+import com.ucsmgy.projectcatalog.dtos.ProjectActivityDTO;
+import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Live updates for viewers of a project on {@code /topic/projects/{id}}. Changes are collected per
+ * project once their transaction commits and sent as one frame per publish interval, so a burst of
+ * reactions on a popular project costs subscribers a few frames a second rather than one per click.
+ */
+@Slf4j
+@Service
+public class ProjectActivityService {
+
+    // Clients reload the thread when more comments arrive within one interval than a frame carries.
+    private static final int MAX_COMMENTS_PER_FRAME = 20;
+
+    private final WebSocketHandler webSocketHandler;
+    private final ReactionCounterService reactionCounterService;
+    private final ProjectRepository projectRepository;
+    private final Map<Long, Activity> pending = new ConcurrentHashMap<>();
+
+    public ProjectActivityService(WebSocketHandler webSocketHandler,
+                                  ReactionCounterService reactionCounterService,
+                                  ProjectRepository projectRepository) {
+        this.webSocketHandler = webSocketHandler;
+        this.reactionCounterService = reactionCounterService;
+        this.projectRepository = projectRepository;
+    }
+
+    public void reactionsChanged(Long projectId) {
+        record(projectId, activity -> activity.reactions = true);
+    }
+
+    public void commentAdded(Long projectId, CommentResponseDTO comment) {
+        record(projectId, activity -> {
+            activity.newComments.add(comment);
+            if (activity.newComments.size() > MAX_COMMENTS_PER_FRAME) {
+                activity.newComments.remove(0);
+            }
+        });
+    }
+
+    public void commentDeleted(Long projectId, Long commentId) {
+        record(projectId, activity -> {
+            if (!activity.newComments.removeIf(comment -> commentId.equals(comment.getId()))) {
+                activity.deletedCommentIds.add(commentId);
+            }
+            activity.comments = true;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${projects.activity.publish-interval:PT0.25S}")
+    public void publish() {
+        for (Long projectId : pending.keySet()) {
+            Activity activity = pending.remove(projectId);
+            if (activity == null) {
+                continue;
+            }
+            boolean commentsChanged = activity.comments || !activity.newComments.isEmpty();
+            ProjectActivityDTO frame = ProjectActivityDTO.builder()
+                    .projectId(projectId)
+                    .reactionCount(activity.reactions ? reactionCounterService.total(projectId) : null)
+                    .commentCount(commentsChanged ? projectRepository.findCommentCount(projectId).orElse(0L) : null)
+                    .newComments(activity.newComments)
+                    .deletedCommentIds(activity.deletedCommentIds)
+                    .build();
+            try {
+                webSocketHandler.sendProjectActivity(frame);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish activity for project {}", projectId, e);
+            }
+        }
+    }
+
+    private void record(Long projectId, Consumer<Activity> change) {
+        Runnable apply = () -> pending.compute(projectId, (id, activity) -> {
+            Activity updated = activity != null ? activity : new Activity();
+            change.accept(updated);
+            return updated;
+        });
+        // Viewers must never see a change that is later rolled back.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private static final class Activity {
+        private boolean reactions;
+        private boolean comments;
+        private final List<CommentResponseDTO> newComments = new ArrayList<>();
+        private final List<Long> deletedCommentIds = new ArrayList<>();
+    }
+}
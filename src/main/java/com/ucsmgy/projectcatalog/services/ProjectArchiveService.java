@@ -0,0 +1,224 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.dropbox.core.DbxDownloader;
+import com.dropbox.core.DbxException;
+import com.dropbox.core.v2.sharing.SharedLinkMetadata;
+import com.ucsmgy.projectcatalog.exceptions.EntityNotFoundException;
+import com.ucsmgy.projectcatalog.repositories.ProjectFileRepository;
+import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams all files of a project as one ZIP archive. The next few files are opened on a small pool
+ * while the current one is being written, so storage round trips overlap with the transfer; each
+ * file is copied through a fixed buffer, never buffered whole. Local blobs are written as STORED
+ * entries (their CRC is computed from disk first); remote files are deflated, at level 0 for formats
+ * that are already compressed.
+ * <p>
+ * Only storage-backed files are archived: local blobs and Dropbox links. Other URLs are listed in
+ * MISSING_FILES.txt instead of being fetched.
+ */
+@Slf4j
+@Service
+public class ProjectArchiveService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "zip", "rar", "7z", "gz", "jar", "docx", "xlsx", "pptx", "pdf",
+            "jpg", "jpeg", "png", "gif", "webp", "mp3", "mp4", "mov", "avi", "mkv");
+
+    private final ProjectRepository projectRepository;
+    private final ProjectFileRepository projectFileRepository;
+    private final LocalStorageService localStorageService;
+    private final DropboxStorageService dropboxStorageService;
+    private final ExecutorService executor;
+    private final int prefetch;
+
+    public ProjectArchiveService(ProjectRepository projectRepository,
+                                 ProjectFileRepository projectFileRepository,
+                                 LocalStorageService localStorageService,
+                                 DropboxStorageService dropboxStorageService,
+                                 @Value("${archives.workers:4}") int workers,
+                                 @Value("${archives.prefetch:2}") int prefetch) {
+        this.projectRepository = projectRepository;
+        this.projectFileRepository = projectFileRepository;
+        this.localStorageService = localStorageService;
+        this.dropboxStorageService = dropboxStorageService;
+        this.executor = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("project-archive-", 0).daemon(true).factory());
+        this.prefetch = Math.max(0, prefetch);
+    }
+
+    public List<String> listFiles(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new EntityNotFoundException("Project with ID " + projectId + " not found");
+        }
+        return projectFileRepository.findFilePathsByProjectId(projectId);
+    }
+
+    public void writeArchive(List<String> fileUrls, OutputStream out) throws IOException {
+        Deque<Future<Source>> window = new ArrayDeque<>();
+        Iterator<String> pending = fileUrls.iterator();
+        Set<String> usedNames = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            while (pending.hasNext() || !window.isEmpty()) {
+                while (window.size() <= prefetch && pending.hasNext()) {
+                    String url = pending.next();
+                    window.add(executor.submit(() -> open(url)));
+                }
+
+                Source source;
+                try {
+                    source = await(window.poll());
+                } catch (InterruptedIOException e) {
+                    throw e;
+                } catch (IOException e) {
+                    // Nothing of this file has been written yet, so the rest of the archive can still be sent.
+                    log.warn("Skipping project file that could not be opened", e);
+                    missing.add(e.getMessage());
+                    continue;
+                }
+                try (InputStream in = source.in()) {
+                    String name = uniqueName(source.name(), usedNames);
+                    zip.setLevel(isCompressed(name) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                    zip.putNextEntry(entryFor(source, name));
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        zip.write(buffer, 0, read);
+                    }
+                    zip.closeEntry();
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(new ZipEntry(uniqueName("MISSING_FILES.txt", usedNames)));
+                zip.write(String.join("\n", missing).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        } finally {
+            for (Future<Source> future : window) {
+                discard(future);
+            }
+        }
+    }
+
+    private ZipEntry entryFor(Source source, String name) {
+        ZipEntry entry = new ZipEntry(name);
+        if (source.crc() >= 0) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(source.size());
+            entry.setCompressedSize(source.size());
+            entry.setCrc(source.crc());
+        } else {
+            entry.setMethod(ZipEntry.DEFLATED);
+        }
+        return entry;
+    }
+
+    private static boolean isCompressed(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private Source open(String url) throws IOException {
+        Optional<String> sha256 = localStorageService.hashFromUrl(url);
+        if (sha256.isPresent()) {
+            Path blob = localStorageService.open(sha256.get())
+                    .orElseThrow(() -> new IOException("Missing local file " + url));
+            long size = Files.size(blob);
+            CRC32 crc = new CRC32();
+            try (InputStream in = Files.newInputStream(blob)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+            return new Source(nameFromUrl(url), Files.newInputStream(blob), size, crc.getValue());
+        }
+
+        if (url.contains("dropbox.com/")) {
+            try {
+                DbxDownloader<SharedLinkMetadata> downloader = dropboxStorageService.openSharedLink(url);
+                InputStream in = new FilterInputStream(downloader.getInputStream()) {
+                    @Override
+                    public void close() {
+                        downloader.close();
+                    }
+                };
+                return new Source(downloader.getResult().getName(), in, -1, -1);
+            } catch (DbxException e) {
+                throw new IOException("Could not open " + url, e);
+            }
+        }
+
+        // Any other URL came from a user; fetching it from here would let them reach internal hosts.
+        throw new IOException("Unsupported file location " + url);
+    }
+
+    private static Source await(Future<Source> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while opening a project file");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    private static void discard(Future<Source> future) {
+        if (!future.cancel(true) && future.isDone() && !future.isCancelled()) {
+            try {
+                future.get().in().close();
+            } catch (Exception ignored) {
+                // The file failed to open or is already closed; nothing to release.
+            }
+        }
+    }
+
+    private static String nameFromUrl(String url) {
+        String path = URI.create(url).getRawPath();
+        String name = path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+        name = URLDecoder.decode(name, StandardCharsets.UTF_8);
+        return name.isBlank() ? "file" : name;
+    }
+
+    private static String uniqueName(String name, Set<String> usedNames) {
+        String safe = name.replace('\\', '_').replace('/', '_');
+        String candidate = safe;
+        int dot = safe.lastIndexOf('.');
+        for (int i = 2; !usedNames.add(candidate); i++) {
+            candidate = dot > 0 ? safe.substring(0, dot) + " (" + i + ")" + safe.substring(dot) : safe + " (" + i + ")";
+        }
+        return candidate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Source(String name, InputStream in, long size, long crc) {
+    }
+}
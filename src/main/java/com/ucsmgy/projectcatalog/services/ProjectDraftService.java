@@ -0,0 +1,223 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ucsmgy.projectcatalog.dtos.ProjectDraftDTO;
+import com.ucsmgy.projectcatalog.dtos.ProjectRequestDTO;
+import com.ucsmgy.projectcatalog.dtos.ProjectResponseDTO;
+import com.ucsmgy.projectcatalog.entities.Member;
+import com.ucsmgy.projectcatalog.entities.Project;
+import com.ucsmgy.projectcatalog.entities.ProjectDraft;
+import com.ucsmgy.projectcatalog.entities.Tag;
+import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.exceptions.DraftConflictException;
+import com.ucsmgy.projectcatalog.exceptions.EntityNotFoundException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidPatchException;
+import com.ucsmgy.projectcatalog.repositories.ProjectDraftRepository;
+import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
+import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.util.JsonPatch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Autosaved project drafts. A draft is a small JSON document holding the editable project fields;
+ * clients update it with JSON Patch deltas against its current version and only run the full
+ * project pipeline (HTML processing, tag and member resolution, file attachment) on submit.
+ */
+@Service
+public class ProjectDraftService {
+
+    private static final Set<String> FIELDS = Set.of(
+            "title", "description", "benefits", "body", "contentFormat", "objectives", "githubLink",
+            "academic_year", "student_year", "departmentId", "courseId", "supervisorId",
+            "tags", "members", "uploadIds");
+
+    private final ProjectDraftRepository projectDraftRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
+    private final long maxSize;
+
+    public ProjectDraftService(ProjectDraftRepository projectDraftRepository,
+                               ProjectRepository projectRepository,
+                               UserRepository userRepository,
+                               ProjectService projectService,
+                               ObjectMapper objectMapper,
+                               @Value("${drafts.max-size:1MB}") DataSize maxSize) {
+        this.projectDraftRepository = projectDraftRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.projectService = projectService;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize.toBytes();
+    }
+
+    /**
+     * Starts a draft for a new project, or returns the caller's existing draft of {@code projectId}
+     * (seeded from the project's current state the first time).
+     */
+    @Transactional
+    public ProjectDraftDTO create(Long userId, Long projectId, JsonNode content) {
+        if (projectId == null) {
+            ProjectDraft draft = new ProjectDraft();
+            draft.setUserId(userId);
+            draft.setContent(serialize(validated(content != null ? content : objectMapper.createObjectNode())));
+            return toDTO(projectDraftRepository.saveAndFlush(draft));
+        }
+
+        Optional<ProjectDraft> existing = projectDraftRepository.findByUserIdAndProjectId(userId, projectId);
+        if (existing.isPresent()) {
+            return toDTO(existing.get());
+        }
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project with ID " + projectId + " not found"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User with ID " + userId + " not found"));
+        if (!project.getUser().getId().equals(userId) && !"ADMIN".equals(user.getRole())) {
+            throw new AccessDeniedException("You can only edit your own projects");
+        }
+
+        ProjectDraft draft = new ProjectDraft();
+        draft.setUserId(userId);
+        draft.setProjectId(projectId);
+        draft.setContent(serialize(snapshot(project)));
+        return toDTO(projectDraftRepository.saveAndFlush(draft));
+    }
+
+    public ProjectDraftDTO get(Long draftId, Long userId) {
+        return toDTO(find(draftId, userId));
+    }
+
+    public List<ProjectDraftDTO> getAll(Long userId) {
+        return projectDraftRepository.findByUserIdOrderByUpdatedAtDesc(userId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * Applies {@code patch} to the draft if it is still at {@code expectedVersion} and returns the new version.
+     */
+    @Transactional
+    public long patch(Long draftId, Long userId, long expectedVersion, JsonNode patch) {
+        ProjectDraft draft = find(draftId, userId);
+        if (draft.getVersion() != expectedVersion) {
+            throw new DraftConflictException("Draft has changed since version " + expectedVersion, draft.getVersion());
+        }
+
+        ObjectNode content = parse(draft.getContent());
+        JsonPatch.apply(content, patch);
+        draft.setContent(serialize(validated(content)));
+        return projectDraftRepository.saveAndFlush(draft).getVersion();
+    }
+
+    @Transactional
+    public ProjectResponseDTO submit(Long draftId, Long userId) {
+        ProjectDraft draft = find(draftId, userId);
+        ObjectNode content = parse(draft.getContent());
+
+        Map<String, String> members = content.has("members")
+                ? objectMapper.convertValue(content.remove("members"), new TypeReference<Map<String, String>>() {})
+                : Map.of();
+        ProjectRequestDTO dto = objectMapper.convertValue(content, ProjectRequestDTO.class);
+
+        ProjectResponseDTO result = draft.getProjectId() == null
+                ? projectService.create(dto, userId, members)
+                : projectService.update(draft.getProjectId(), userId, dto, members);
+        projectDraftRepository.delete(draft);
+        return result;
+    }
+
+    public void delete(Long draftId, Long userId) {
+        projectDraftRepository.delete(find(draftId, userId));
+    }
+
+    private ObjectNode snapshot(Project project) {
+        ObjectNode content = objectMapper.createObjectNode();
+        content.put("title", project.getTitle());
+        content.put("description", project.getDescription());
+        content.put("benefits", project.getBenefits());
+        content.put("body", project.getBody());
+        content.put("contentFormat", project.getContentFormat());
+        content.put("objectives", project.getObjectives());
+        content.put("githubLink", project.getGithubLink());
+        content.put("academic_year", project.getAcademic_year());
+        content.put("student_year", project.getStudent_year());
+        content.put("departmentId", project.getDepartment() != null ? project.getDepartment().getId() : null);
+        content.put("courseId", project.getCourse() != null ? project.getCourse().getId() : null);
+        content.put("supervisorId", project.getSupervisor() != null ? project.getSupervisor().getId() : null);
+        project.getTags().stream().map(Tag::getName).sorted().forEach(content.putArray("tags")::add);
+        ObjectNode members = content.putObject("members");
+        for (Member member : project.getMembers()) {
+            members.put(member.getName(), member.getRollNumber() != null ? member.getRollNumber() : "");
+        }
+        return content;
+    }
+
+    private JsonNode validated(JsonNode content) {
+        if (!content.isObject()) {
+            throw new InvalidPatchException("Draft content must be a JSON object");
+        }
+        content.fieldNames().forEachRemaining(field -> {
+            if (!FIELDS.contains(field)) {
+                throw new InvalidPatchException("Unknown draft field: " + field);
+            }
+        });
+        try {
+            ObjectNode copy = ((ObjectNode) content).deepCopy();
+            copy.remove("members");
+            objectMapper.treeToValue(copy, ProjectRequestDTO.class);
+            if (content.has("members")) {
+                objectMapper.treeToValue(content.get("members"), Map.class);
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InvalidPatchException("Draft content has invalid field values");
+        }
+        return content;
+    }
+
+    private ProjectDraft find(Long draftId, Long userId) {
+        return projectDraftRepository.findByIdAndUserId(draftId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Draft with ID " + draftId + " not found"));
+    }
+
+    private ObjectNode parse(String content) {
+        try {
+            return (ObjectNode) objectMapper.readTree(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored draft is not valid JSON", e);
+        }
+    }
+
+    private String serialize(JsonNode content) {
+        try {
+            String json = objectMapper.writeValueAsString(content);
+            if (json.getBytes(StandardCharsets.UTF_8).length > maxSize) {
+                throw new InvalidPatchException("Draft exceeds the maximum size of " + maxSize + " bytes");
+            }
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ProjectDraftDTO toDTO(ProjectDraft draft) {
+        return ProjectDraftDTO.builder()
+                .id(draft.getId())
+                .projectId(draft.getProjectId())
+                .version(draft.getVersion())
+                .content(parse(draft.getContent()))
+                .updatedAt(draft.getUpdatedAt())
+                .build();
+    }
+}
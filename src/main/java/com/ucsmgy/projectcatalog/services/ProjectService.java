@@ -6,10 +6,12 @@ import com.ucsmgy.projectcatalog.dtos.ProjectResponseDTO;
 import com.ucsmgy.projectcatalog.entities.*;
 import com.ucsmgy.projectcatalog.entities.Project.Status;
 import com.ucsmgy.projectcatalog.events.CommentCreatedEvent;
+import com.ucsmgy.projectcatalog.events.CoverImageChangedEvent;
 import com.ucsmgy.projectcatalog.events.ProjectApprovedEvent;
 import com.ucsmgy.projectcatalog.events.ProjectRejectedEvent;
 import com.ucsmgy.projectcatalog.events.ProjectSubmitEvent;
 import com.ucsmgy.projectcatalog.exceptions.EntityNotFoundException;
+import com.ucsmgy.projectcatalog.exceptions.InvalidUploadException;
 import com.ucsmgy.projectcatalog.mappers.ProjectMapper;
 import com.ucsmgy.projectcatalog.repositories.*;
 import com.ucsmgy.projectcatalog.util.HtmlImageProcessor;
@@ -26,6 +28,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -51,6 +54,7 @@ public class ProjectService {
     private final TagRepository tagRepository;
     private final MemberRepository memberRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final FileUploadService fileUploadService;
 
     @Transactional
     public ProjectResponseDTO create(ProjectRequestDTO dto, Long userId ,Map<String, String> membersMap) {
@@ -83,9 +87,10 @@ public class ProjectService {
                 project.setApprovalStatus(Project.ApprovalStatus.PENDING);
             }
             
-            applyDtoUpdatesAndUploads(project, dto , membersMap);
+            applyDtoUpdatesAndUploads(project, dto, membersMap, userId);
 
             Project savedProject = projectRepository.save(project);
+            requestCoverVariants(savedProject);
             if ("ADMIN".equals(user.getRole())){
                 project.setApprovalStatus(Project.ApprovalStatus.valueOf("APPROVED"));
                 eventPublisher.publishEvent(new ProjectSubmitEvent(this,project.getId(),user.getId(),user.getName(),project.getTitle(), user.getName()));
@@ -94,6 +99,9 @@ public class ProjectService {
             }
             return projectMapper.toDTO(savedProject);
 
+        } catch (InvalidUploadException | EntityNotFoundException | AccessDeniedException e) {
+            // Client errors keep their own status instead of becoming a 500.
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to create project", e);
         }
@@ -103,8 +111,14 @@ public class ProjectService {
     public ProjectResponseDTO update(Long projectId,Long userId, ProjectRequestDTO dto, Map<String, String> membersMap) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new EntityNotFoundException("Project with ID " + projectId + " not found"));
+        String previousCoverImageUrl = project.getCoverImageUrl();
         projectMapper.updateFromDto(dto, project);
-        applyDtoUpdatesAndUploads(project, dto ,membersMap);
+        applyDtoUpdatesAndUploads(project, dto, membersMap, userId);
+        if (!Objects.equals(previousCoverImageUrl, project.getCoverImageUrl())) {
+            project.setCoverCardUrl(null);
+            project.setCoverThumbUrl(null);
+            project.setCoverPlaceholder(null);
+        }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User with ID " + userId + " not found"));
 
@@ -114,10 +128,18 @@ public class ProjectService {
         }else {
             eventPublisher.publishEvent(new ProjectSubmitEvent(this, project.getId(), dto.getSupervisorId(), user.getName(), project.getTitle(), project.getSupervisor().getName()));
         }
-        return projectMapper.toDTO(projectRepository.save(project));
+        Project savedProject = projectRepository.save(project);
+        requestCoverVariants(savedProject);
+        return projectMapper.toDTO(savedProject);
     }
 
-    private void applyDtoUpdatesAndUploads(Project project, ProjectRequestDTO dto ,Map<String, String> membersMap) {
+    private void requestCoverVariants(Project project) {
+        if (project.getCoverImageUrl() != null && project.getCoverCardUrl() == null) {
+            eventPublisher.publishEvent(new CoverImageChangedEvent(this, project.getId(), project.getCoverImageUrl()));
+        }
+    }
+
+    private void applyDtoUpdatesAndUploads(Project project, ProjectRequestDTO dto, Map<String, String> membersMap, Long userId) {
         if (dto.getBody() != null) {
             String processedBody = HtmlImageProcessor.processImages(dto.getBody(), imgbbService);
             Document doc = Jsoup.parse(processedBody);
@@ -222,6 +244,15 @@ public class ProjectService {
                 }
             }
         }
+
+        if (dto.getUploadIds() != null) {
+            for (String uploadId : dto.getUploadIds()) {
+                ProjectFile projectFile = new ProjectFile();
+                projectFile.setFilePath(fileUploadService.attach(uploadId, userId));
+                projectFile.setProject(project);
+                project.getFiles().add(projectFile);
+            }
+        }
     }
 
     public Page<ProjectResponseDTO> getAll(int page, int size) {
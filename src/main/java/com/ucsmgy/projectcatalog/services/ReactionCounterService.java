@@ -0,0 +1,210 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind reaction totals. Each project gets a persisted count (from {@code projects.reaction_count})
+ * plus a striped {@link LongAdder} of deltas not yet flushed, so a burst of reactions on one project
+ * costs no {@code COUNT(*)} and no row lock per click. Deltas are flushed in one transaction every few
+ * seconds, which also reads the persisted counts of all cached projects back, so other nodes' writes
+ * show up within one flush interval. A periodic reconciliation recounts from the reactions table to
+ * repair drift (a crash before flushing).
+ * <p>
+ * A reacting transaction holds {@link #recountLock} for reading from just before it commits until its
+ * delta is pending, and reconciliation holds it for writing across the final flush and the recount.
+ * So the recount never sees a reaction whose delta is still on its way, which would count it twice.
+ */
+@Slf4j
+@Service
+public class ReactionCounterService {
+
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final ReadWriteLock recountLock = new ReentrantReadWriteLock();
+
+    public ReactionCounterService(ProjectRepository projectRepository, TransactionTemplate transactionTemplate) {
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public long total(Long projectId) {
+        return counter(projectId).total();
+    }
+
+    /**
+     * Totals for several projects, loading any that aren't cached yet in one query.
+     */
+    public Map<Long, Long> totals(Collection<Long> projectIds) {
+        List<Long> missing = projectIds.stream()
+                .filter(id -> counters.computeIfAbsent(id, key -> new Counter()).persisted < 0)
+                .toList();
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loaded = new HashMap<>();
+            for (Object[] row : projectRepository.findReactionCounts(missing)) {
+                loaded.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long projectId : missing) {
+                Counter counter = counters.computeIfAbsent(projectId, id -> new Counter());
+                synchronized (counter) {
+                    if (counter.persisted < 0) {
+                        counter.persisted = loaded.getOrDefault(projectId, 0L);
+                    }
+                }
+            }
+        }
+
+        Map<Long, Long> totals = new HashMap<>();
+        for (Long projectId : projectIds) {
+            totals.put(projectId, counter(projectId).total());
+        }
+        return totals;
+    }
+
+    /**
+     * Records a change to a project's total once the surrounding transaction commits, or immediately
+     * when there is none.
+     */
+    public void record(Long projectId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    recountLock.readLock().lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (!locked) {
+                        return;
+                    }
+                    try {
+                        if (status == STATUS_COMMITTED) {
+                            pending(projectId).add(delta);
+                        }
+                    } finally {
+                        recountLock.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            recountLock.readLock().lock();
+            try {
+                pending(projectId).add(delta);
+            } finally {
+                recountLock.readLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reactions.flush-interval:PT5S}")
+    public synchronized void flush() {
+        flushPending();
+    }
+
+    // False when the deltas could not be written and are still pending.
+    private boolean flushPending() {
+        if (counters.isEmpty()) {
+            return true;
+        }
+        Map<Long, Long> deltas = new HashMap<>();
+        counters.forEach((projectId, counter) -> {
+            long delta = counter.pending.sum();
+            if (delta != 0) {
+                deltas.put(projectId, delta);
+            }
+        });
+
+        List<Long> projectIds = List.copyOf(counters.keySet());
+        Map<Long, Long> persisted = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                deltas.forEach(projectRepository::addReactionCount);
+                for (Object[] row : projectRepository.findReactionCounts(projectIds)) {
+                    persisted.put((Long) row[0], (Long) row[1]);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Deltas stay pending and are retried on the next flush.
+            log.warn("Failed to flush {} reaction counters", deltas.size(), e);
+            return false;
+        }
+        for (Long projectId : projectIds) {
+            Counter counter = counters.get(projectId);
+            if (counter == null) {
+                continue;
+            }
+            synchronized (counter) {
+                // The count read back includes this flush's delta, so it leaves pending together with it.
+                counter.persisted = persisted.getOrDefault(projectId, 0L);
+                counter.pending.add(-deltas.getOrDefault(projectId, 0L));
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${reactions.reconcile-interval:PT15M}", initialDelayString = "${reactions.reconcile-interval:PT15M}")
+    public synchronized void reconcile() {
+        // Reacting transactions wait at commit until the recount is done, so keep this short.
+        recountLock.writeLock().lock();
+        try {
+            if (!flushPending()) {
+                return;
+            }
+            int corrected = projectRepository.reconcileReactionCounts();
+            if (corrected > 0) {
+                log.info("Reconciled reaction counts of {} projects", corrected);
+            }
+            // Everything was flushed and nothing could be recorded meanwhile; reload totals lazily.
+            counters.clear();
+        } finally {
+            recountLock.writeLock().unlock();
+        }
+    }
+
+    private LongAdder pending(Long projectId) {
+        return counters.computeIfAbsent(projectId, id -> new Counter()).pending;
+    }
+
+    private Counter counter(Long projectId) {
+        Counter counter = counters.computeIfAbsent(projectId, id -> new Counter());
+        if (counter.persisted < 0) {
+            synchronized (counter) {
+                if (counter.persisted < 0) {
+                    counter.persisted = projectRepository.findReactionCount(projectId).orElse(0L);
+                }
+            }
+        }
+        return counter;
+    }
+
+    private static final class Counter {
+        private volatile long persisted = -1;
+        private final LongAdder pending = new LongAdder();
+
+        private long total() {
+            return Math.max(0, persisted + pending.sum());
+        }
+    }
+}
@@ -1,70 +1,89 @@
 package com.ucsmgy.projectcatalog.services;
 
 import com.ucsmgy.projectcatalog.dtos.ReactionResponseDTO;
-import com.ucsmgy.projectcatalog.entities.Project;
-import com.ucsmgy.projectcatalog.entities.Reaction;
-import com.ucsmgy.projectcatalog.entities.User;
-import com.ucsmgy.projectcatalog.events.CommentCreatedEvent;
 import com.ucsmgy.projectcatalog.events.ReactionEvent;
 import com.ucsmgy.projectcatalog.exceptions.EntityNotFoundException;
 import com.ucsmgy.projectcatalog.repositories.ProjectReactionRepository;
-import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
-import com.ucsmgy.projectcatalog.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @RequiredArgsConstructor
 public class ReactionService {
 
     private final ProjectReactionRepository reactionRepository;
-    private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final ReactionCounterService reactionCounterService;
+    private final ProjectActivityService projectActivityService;
+    private final MembershipIndex membershipIndex;
     private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Flips the user's reaction with a single delete or insert. A double-click racing itself ends
+     * with the reaction set, never with a constraint violation.
+     */
     @Transactional
     public ReactionResponseDTO toggleReaction(Long projectId, Long userId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        if (reactionRepository.deleteReaction(projectId, userId) > 0) {
+            reactionCounterService.record(projectId, -1);
+            projectActivityService.reactionsChanged(projectId);
+            membershipIndex.reactionRemoved(userId, projectId);
+            return response(projectId, userId, false, -1);
+        }
+        return response(projectId, userId, true, addReaction(projectId, userId) ? 1 : 0);
+    }
 
-        Optional<Reaction> existingReaction = reactionRepository.findByProjectIdAndUserId(projectId, userId);
+    /**
+     * Idempotently sets whether the user reacts to the project; repeating the call changes nothing.
+     */
+    @Transactional
+    public ReactionResponseDTO setReaction(Long projectId, Long userId, boolean reacted) {
+        long delta = 0;
+        if (reacted) {
+            delta = addReaction(projectId, userId) ? 1 : 0;
+        } else if (reactionRepository.deleteReaction(projectId, userId) > 0) {
+            reactionCounterService.record(projectId, -1);
+            projectActivityService.reactionsChanged(projectId);
+            membershipIndex.reactionRemoved(userId, projectId);
+            delta = -1;
+        }
+        return response(projectId, userId, reacted, delta);
+    }
 
-        if (existingReaction.isPresent()) {
-            reactionRepository.delete(existingReaction.get());
-        } else {
-            Reaction reaction = new Reaction();
-            reaction.setProject(project);
-            reaction.setUser(user);
-            reactionRepository.save(reaction);
+    public boolean hasUserReacted(Long projectId, Long userId) {
+        return membershipIndex.hasReacted(userId, projectId);
+    }
 
-            User projectOwner = project.getUser();
+    public Long getTotalReactions(Long projectId) {
+        return reactionCounterService.total(projectId);
+    }
 
-            eventPublisher.publishEvent(new ReactionEvent(this, project.getId(),projectOwner.getId(),reaction.getId(), project.getTitle(),user.getName()));
+    // True when the reaction was inserted, false when it already existed.
+    private boolean addReaction(Long projectId, Long userId) {
+        Long reactionId;
+        try {
+            reactionId = reactionRepository.insertIfAbsent(projectId, userId);
+        } catch (DataIntegrityViolationException e) {
+            throw new EntityNotFoundException("Project or user not found");
         }
+        if (reactionId != null) {
+            reactionCounterService.record(projectId, 1);
+            projectActivityService.reactionsChanged(projectId);
+            membershipIndex.reactionAdded(userId, projectId);
+            eventPublisher.publishEvent(new ReactionEvent(this, projectId, userId, reactionId));
+        }
+        return reactionId != null;
+    }
 
-        long totalReactions = reactionRepository.countByProjectId(projectId);
-        boolean reacted = reactionRepository.findByProjectIdAndUserId(projectId, userId).isPresent();
-
+    // The counter only sees this change once the transaction commits, so it is added here.
+    private ReactionResponseDTO response(Long projectId, Long userId, boolean reacted, long delta) {
         return ReactionResponseDTO.builder()
                 .projectId(projectId)
                 .userId(userId)
                 .reacted(reacted)
-                .totalReactions(totalReactions)
+                .totalReactions(Math.max(0, reactionCounterService.total(projectId) + delta))
                 .build();
     }
-
-    public boolean hasUserReacted(Long projectId, Long userId) {
-        return reactionRepository.findByProjectIdAndUserId(projectId, userId).isPresent();
-    }
-
-    public Long getTotalReactions(Long projectId) {
-        return reactionRepository.countByProjectId(projectId);
-    }
 }
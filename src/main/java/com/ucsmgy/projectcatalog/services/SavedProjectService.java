@@ -1,32 +1,39 @@
 package com.ucsmgy.projectcatalog.services;
 
 import com.ucsmgy.projectcatalog.dtos.SavedProjectDTO;
+import com.ucsmgy.projectcatalog.dtos.SavedProjectPageDTO;
 import com.ucsmgy.projectcatalog.dtos.SavedProjectResponseDTO;
 import com.ucsmgy.projectcatalog.entities.Project;
 import com.ucsmgy.projectcatalog.entities.SavedProject;
 import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.events.ProjectSavedEvent;
 import com.ucsmgy.projectcatalog.exceptions.EntityNotFoundException;
 import com.ucsmgy.projectcatalog.mappers.SavedProjectMapper;
 import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
 import com.ucsmgy.projectcatalog.repositories.SavedProjectRepository;
 import com.ucsmgy.projectcatalog.repositories.UserRepository;
+import com.ucsmgy.projectcatalog.util.KeysetCursor;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SavedProjectService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final SavedProjectRepository savedProjectRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final SavedProjectMapper savedProjectMapper;
+    private final MembershipIndex membershipIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public SavedProjectResponseDTO saveProject(SavedProjectDTO dto) {
@@ -36,8 +43,7 @@ public class SavedProjectService {
         User user = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        Optional<SavedProject> existing = savedProjectRepository.findByProjectIdAndUserId(dto.getProjectId(), dto.getUserId());
-        if (existing.isPresent()) {
+        if (savedProjectRepository.existsByProjectIdAndUserId(dto.getProjectId(), dto.getUserId())) {
             throw new IllegalStateException("Project already saved by user");
         }
 
@@ -47,22 +53,48 @@ public class SavedProjectService {
         savedProject.setSavedAt(LocalDateTime.now());
 
         SavedProject saved = savedProjectRepository.save(savedProject);
+        membershipIndex.projectSaved(user.getId(), project.getId());
+        eventPublisher.publishEvent(new ProjectSavedEvent(this, project.getId(), user.getId()));
         return savedProjectMapper.toDTO(saved);
     }
 
     public List<SavedProjectResponseDTO> getSavedProjectsByUser(Long userId) {
-        List<SavedProject> savedProjects = savedProjectRepository.findAllByUserId(userId);
-        return savedProjects.stream()
-                .map(savedProjectMapper::toDTO)
-                .collect(Collectors.toList());
+        return savedProjectRepository.findResponsesByUserId(userId);
+    }
+
+    /**
+     * Most recently saved first; pass the previous page's {@code nextCursor} to continue.
+     */
+    public SavedProjectPageDTO getSavedProjectPage(Long userId, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetch = Limit.of(size + 1);
+        List<SavedProjectResponseDTO> savedProjects;
+        if (cursor == null || cursor.isBlank()) {
+            savedProjects = savedProjectRepository.findLatestResponsesByUserId(userId, fetch);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            savedProjects = savedProjectRepository.findResponsesByUserIdBefore(userId, after.timestamp(), after.id(), fetch);
+        }
+
+        String nextCursor = null;
+        if (savedProjects.size() > size) {
+            savedProjects = savedProjects.subList(0, size);
+            SavedProjectResponseDTO last = savedProjects.get(size - 1);
+            nextCursor = new KeysetCursor(last.getSavedAt(), last.getProjectId()).encode();
+        }
+        return SavedProjectPageDTO.builder()
+                .savedProjects(savedProjects)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Transactional
     public void removeSavedProject(Long projectId, Long userId) {
         savedProjectRepository.deleteByProjectIdAndUserId(projectId, userId);
+        membershipIndex.projectUnsaved(userId, projectId);
     }
 
     public boolean isProjectSavedByUser(Long projectId, Long userId) {
-        return savedProjectRepository.findByProjectIdAndUserId(projectId, userId).isPresent();
+        return membershipIndex.hasSaved(userId, projectId);
     }
 }
@@ -0,0 +1,291 @@
+package com.ucsmgy.projectcatalog.services;
+
+import com.ucsmgy.projectcatalog.dtos.ProjectResponseDTO;
+import com.ucsmgy.projectcatalog.entities.Project;
+import com.ucsmgy.projectcatalog.entities.TrendingScore;
+import com.ucsmgy.projectcatalog.events.CommentCreatedEvent;
+import com.ucsmgy.projectcatalog.events.ProjectSavedEvent;
+import com.ucsmgy.projectcatalog.events.ReactionEvent;
+import com.ucsmgy.projectcatalog.mappers.ProjectMapper;
+import com.ucsmgy.projectcatalog.repositories.ProjectRepository;
+import com.ucsmgy.projectcatalog.repositories.TrendingScoreRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending projects, scored from reactions, comments and saves with exponential time decay
+ * ({@code trending.half-life}). Scores use forward decay: an event adds {@code weight * e^(λ(t - epoch))},
+ * so later events weigh more and stored scores never need updating as time passes, which keeps the
+ * ordering of a bounded top-K set stable. The set holds at most {@code trending.capacity} projects.
+ * <p>
+ * Each node only sees the events it handles, so {@code trending_scores} is the shared total: every
+ * {@code trending.persist-interval} a node adds what it scored since its last write to each project's
+ * row, then reloads the table, picking up the other nodes' events. The table is also what a restart
+ * starts from.
+ * <p>
+ * Events are scored only once their transaction commits. A reaction or save counts once per user and
+ * project ({@code trending_interactions}), so toggling it can't inflate the score.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    private static final double REACTION_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 3.0;
+    private static final double SAVE_WEIGHT = 2.0;
+    private static final int MAX_LIMIT = 50;
+    // Rebase well before e^(λ(t - epoch)) gets anywhere near overflowing a double.
+    private static final double MAX_EXPONENT = 50;
+
+    private final ProjectRepository projectRepository;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final ProjectMapper projectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final double lambda;
+    private final int capacity;
+
+    // Guarded by this.
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(
+            Comparator.comparingDouble((Entry entry) -> entry.value).reversed().thenComparing(entry -> entry.projectId));
+    private long epochMillis = System.currentTimeMillis();
+
+    public TrendingService(ProjectRepository projectRepository,
+                           TrendingScoreRepository trendingScoreRepository,
+                           ProjectMapper projectMapper,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${trending.half-life:PT24H}") Duration halfLife,
+                           @Value("${trending.capacity:1000}") int capacity) {
+        this.projectRepository = projectRepository;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.projectMapper = projectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.capacity = capacity;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReaction(ReactionEvent event) {
+        if (firstInteraction(event.getProjectId(), event.getReactorId(), "REACTION")) {
+            record(event.getProjectId(), REACTION_WEIGHT);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onComment(CommentCreatedEvent event) {
+        record(event.getProjectId(), COMMENT_WEIGHT);
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSave(ProjectSavedEvent event) {
+        if (firstInteraction(event.getProjectId(), event.getUserId(), "SAVE")) {
+            record(event.getProjectId(), SAVE_WEIGHT);
+        }
+    }
+
+    /**
+     * Approved projects with the highest current score, optionally limited to one department.
+     */
+    public List<ProjectResponseDTO> getTrending(Long departmentId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Long> candidates = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : ranking) {
+                if (departmentId == null || departmentId.equals(entry.departmentId)) {
+                    candidates.add(entry.projectId);
+                    // Some candidates may have been unapproved, moved or deleted since they were scored.
+                    if (candidates.size() >= size * 2) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Project> projects = projectRepository.findAllById(candidates).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        return candidates.stream()
+                .map(projects::get)
+                .filter(Objects::nonNull)
+                .filter(project -> project.getApprovalStatus() == Project.ApprovalStatus.APPROVED)
+                .filter(project -> departmentId == null
+                        || (project.getDepartment() != null && departmentId.equals(project.getDepartment().getId())))
+                .limit(size)
+                .map(projectMapper::toDTO)
+                .toList();
+    }
+
+    // Runs before the event listeners can receive anything.
+    @PostConstruct
+    public void restore() {
+        try {
+            int restored = reload();
+            log.info("Restored {} trending scores", restored);
+        } catch (RuntimeException e) {
+            log.warn("Failed to restore trending scores", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trending.persist-interval:PT5M}", initialDelayString = "${trending.persist-interval:PT5M}")
+    public void persist() {
+        long now = System.currentTimeMillis();
+        Map<Long, Double> deltas = new LinkedHashMap<>();
+        synchronized (this) {
+            double toNow = Math.exp(-lambda * (now - epochMillis));
+            for (Entry entry : entries.values()) {
+                if (entry.unpersisted != 0) {
+                    deltas.put(entry.projectId, entry.unpersisted * toNow);
+                    entry.unpersisted = 0;
+                }
+            }
+        }
+        LocalDateTime computedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                deltas.forEach((projectId, delta) -> trendingScoreRepository.addScore(projectId, delta, computedAt, lambda));
+                trendingScoreRepository.trimToCapacity(computedAt, lambda, capacity);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist {} trending scores", deltas.size(), e);
+            // Put the increments back so the next run retries them.
+            synchronized (this) {
+                double fromNow = Math.exp(lambda * (now - epochMillis));
+                deltas.forEach((projectId, delta) -> {
+                    Entry entry = entries.get(projectId);
+                    if (entry != null) {
+                        entry.unpersisted += delta * fromNow;
+                    }
+                });
+            }
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload trending scores", e);
+        }
+    }
+
+    /**
+     * Replaces the in-memory scores with the shared ones, keeping increments recorded since they were
+     * written.
+     */
+    private int reload() {
+        List<TrendingScore> scores = trendingScoreRepository.findAll();
+        synchronized (this) {
+            List<Entry> unpersisted = entries.values().stream().filter(entry -> entry.unpersisted != 0).toList();
+            entries.clear();
+            ranking.clear();
+            for (TrendingScore score : scores) {
+                long computedAt = score.getComputedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                merge(score.getProjectId(), score.getDepartmentId(),
+                        score.getScore() * Math.exp(lambda * (computedAt - epochMillis)), 0);
+            }
+            for (Entry entry : unpersisted) {
+                merge(entry.projectId, entry.departmentId, entry.unpersisted, entry.unpersisted);
+            }
+        }
+        return scores.size();
+    }
+
+    private boolean firstInteraction(Long projectId, Long userId, String kind) {
+        try {
+            Integer inserted = transactionTemplate.execute(status ->
+                    trendingScoreRepository.markInteraction(projectId, userId, kind));
+            return inserted != null && inserted > 0;
+        } catch (DataIntegrityViolationException e) {
+            // The project or user was deleted in the meantime.
+            return false;
+        }
+    }
+
+    private void record(Long projectId, double weight) {
+        Long departmentId = null;
+        boolean known;
+        synchronized (this) {
+            known = entries.containsKey(projectId);
+        }
+        if (!known) {
+            departmentId = projectRepository.findDepartmentId(projectId).orElse(null);
+        }
+
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (lambda * (now - epochMillis) > MAX_EXPONENT) {
+                rebase(now);
+            }
+            double increment = weight * Math.exp(lambda * (now - epochMillis));
+            merge(projectId, departmentId, increment, increment);
+        }
+    }
+
+    // Adds to the project's entry, or admits a new one if it outranks the lowest when full. Guarded by this.
+    private void merge(Long projectId, Long departmentId, double value, double unpersisted) {
+        Entry entry = entries.get(projectId);
+        if (entry != null) {
+            ranking.remove(entry);
+            entry.value += value;
+            entry.unpersisted += unpersisted;
+            ranking.add(entry);
+            return;
+        }
+        if (entries.size() >= capacity) {
+            Entry lowest = ranking.last();
+            if (lowest.value >= value) {
+                return;
+            }
+            ranking.remove(lowest);
+            entries.remove(lowest.projectId);
+        }
+        entry = new Entry(projectId, departmentId);
+        entry.value = value;
+        entry.unpersisted = unpersisted;
+        entries.put(projectId, entry);
+        ranking.add(entry);
+    }
+
+    private void rebase(long now) {
+        double factor = Math.exp(-lambda * (now - epochMillis));
+        ranking.clear();
+        for (Entry entry : entries.values()) {
+            entry.value *= factor;
+            entry.unpersisted *= factor;
+            ranking.add(entry);
+        }
+        epochMillis = now;
+    }
+
+    private static final class Entry {
+        private final Long projectId;
+        private final Long departmentId;
+        private double value;
+        // Part of value this node scored since its last write to trending_scores.
+        private double unpersisted;
+
+        private Entry(Long projectId, Long departmentId) {
+            this.projectId = projectId;
+            this.departmentId = departmentId;
+        }
+    }
+}
@@ -5,12 +5,14 @@ import com.ucsmgy.projectcatalog.dtos.CreateUserDto;
 import com.ucsmgy.projectcatalog.dtos.UpdateUserRequest;
 import com.ucsmgy.projectcatalog.dtos.UserDto;
 import com.ucsmgy.projectcatalog.entities.User;
+import com.ucsmgy.projectcatalog.events.AvatarChangedEvent;
 import com.ucsmgy.projectcatalog.exceptions.DuplicateUserException;
 import com.ucsmgy.projectcatalog.exceptions.UserNotFoundException;
 import com.ucsmgy.projectcatalog.mappers.UserMapper;
 import com.ucsmgy.projectcatalog.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -28,6 +30,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserDto login(String email, String password) {
         var user = userRepository.findByEmail(email)
@@ -70,8 +73,14 @@ public class UserService {
             user.setEmail(request.getEmail());
         }
 
-        if (request.getAvatarUrl() != null && !request.getAvatarUrl().isBlank()) {
+        boolean avatarChanged = false;
+        if (request.getAvatarUrl() != null && !request.getAvatarUrl().isBlank()
+                && !request.getAvatarUrl().equals(user.getAvatarUrl())) {
             user.setAvatarUrl(request.getAvatarUrl());
+            user.setAvatarMediumUrl(null);
+            user.setAvatarThumbUrl(null);
+            user.setAvatarPlaceholder(null);
+            avatarChanged = true;
         }
 
         if (request.getBio() != null && !request.getBio().isBlank()) {
@@ -79,6 +88,9 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        if (avatarChanged) {
+            eventPublisher.publishEvent(new AvatarChangedEvent(this, updatedUser.getId(), updatedUser.getAvatarUrl()));
+        }
 
         return userMapper.toDto(updatedUser);
     }
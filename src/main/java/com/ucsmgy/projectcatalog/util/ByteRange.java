@@ -0,0 +1,58 @@
+package com.ucsmgy.projectcatalog.util;
+
+import org.springframework.http.HttpRange;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The single byte range to send for a request, resolved from its {@code Range} and {@code If-Range}
+ * headers. Multi-range and malformed requests fall back to the full content, which RFC 9110 allows.
+ */
+public record ByteRange(long start, long end, boolean partial) {
+
+    public static ByteRange full(long total) {
+        return new ByteRange(0, total - 1, false);
+    }
+
+    /**
+     * @return the range to send, or empty when the requested range cannot be satisfied (416)
+     */
+    public static Optional<ByteRange> resolve(String rangeHeader, String ifRange, String etag, long total) {
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            return Optional.of(full(total));
+        }
+        if (ifRange != null && (etag == null || !ifRange.trim().equals(etag))) {
+            return Optional.of(full(total));
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return Optional.of(full(total));
+        }
+        if (ranges.size() != 1) {
+            return Optional.of(full(total));
+        }
+
+        try {
+            HttpRange range = ranges.get(0);
+            return Optional.of(new ByteRange(range.getRangeStart(total), range.getRangeEnd(total), true));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String contentRange(long total) {
+        return "bytes " + start + "-" + end + "/" + total;
+    }
+
+    public static String unsatisfiedContentRange(long total) {
+        return "bytes */" + total;
+    }
+}
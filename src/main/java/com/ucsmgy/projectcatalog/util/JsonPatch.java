@@ -0,0 +1,140 @@
+package com.ucsmgy.projectcatalog.util;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.ucsmgy.projectcatalog.exceptions.InvalidPatchException;
+
+/**
+ * Applies an RFC 6902 JSON Patch to a document in place. Besides the standard operations it accepts
+ * {@code {"op": "splice", "path": ..., "offset": n, "remove": n, "text": "..."}}, which edits a string
+ * value the way a text editor does, so a keystroke in a long body doesn't resend the whole body.
+ * Offsets count UTF-16 code units, matching JavaScript string indices.
+ */
+public final class JsonPatch {
+
+    private JsonPatch() {
+    }
+
+    public static void apply(ObjectNode document, JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new InvalidPatchException("Patch must be a JSON array of operations");
+        }
+        for (JsonNode operation : patch) {
+            String op = operation.path("op").asText();
+            JsonPointer path = pointer(operation, "path");
+            switch (op) {
+                case "add" -> add(document, path, value(operation));
+                case "remove" -> remove(document, path);
+                case "replace" -> {
+                    require(document, path);
+                    remove(document, path);
+                    add(document, path, value(operation));
+                }
+                case "move" -> {
+                    JsonPointer from = pointer(operation, "from");
+                    JsonNode moved = require(document, from);
+                    remove(document, from);
+                    add(document, path, moved);
+                }
+                case "copy" -> add(document, path, require(document, pointer(operation, "from")).deepCopy());
+                case "test" -> {
+                    if (!require(document, path).equals(value(operation))) {
+                        throw new InvalidPatchException("Test failed at " + path);
+                    }
+                }
+                case "splice" -> splice(document, path, operation);
+                default -> throw new InvalidPatchException("Unsupported patch operation: " + op);
+            }
+        }
+    }
+
+    private static void add(ObjectNode document, JsonPointer path, JsonNode value) {
+        JsonNode parent = parent(document, path);
+        String property = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            object.set(property, value);
+        } else if (parent instanceof ArrayNode array) {
+            if ("-".equals(property)) {
+                array.add(value);
+            } else {
+                array.insert(index(array, path, array.size()), value);
+            }
+        } else {
+            throw new InvalidPatchException("No container at " + path.head());
+        }
+    }
+
+    private static void remove(ObjectNode document, JsonPointer path) {
+        JsonNode parent = parent(document, path);
+        String property = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object && object.has(property)) {
+            object.remove(property);
+        } else if (parent instanceof ArrayNode array) {
+            array.remove(index(array, path, array.size() - 1));
+        } else {
+            throw new InvalidPatchException("Nothing to remove at " + path);
+        }
+    }
+
+    private static void splice(ObjectNode document, JsonPointer path, JsonNode operation) {
+        JsonNode target = require(document, path);
+        if (!target.isTextual()) {
+            throw new InvalidPatchException("Splice target at " + path + " is not a string");
+        }
+        String text = target.asText();
+        int offset = operation.path("offset").asInt(-1);
+        int removeCount = operation.path("remove").asInt(0);
+        if (offset < 0 || removeCount < 0 || offset > text.length() || removeCount > text.length() - offset) {
+            throw new InvalidPatchException("Splice range is outside the string at " + path);
+        }
+        String inserted = operation.path("text").asText("");
+        String spliced = text.substring(0, offset) + inserted + text.substring(offset + removeCount);
+        remove(document, path);
+        add(document, path, TextNode.valueOf(spliced));
+    }
+
+    private static JsonNode parent(ObjectNode document, JsonPointer path) {
+        if (path.matches()) {
+            throw new InvalidPatchException("Patch operations cannot target the document root");
+        }
+        return document.at(path.head());
+    }
+
+    private static JsonNode require(ObjectNode document, JsonPointer path) {
+        JsonNode node = document.at(path);
+        if (node.isMissingNode()) {
+            throw new InvalidPatchException("No value at " + path);
+        }
+        return node;
+    }
+
+    private static int index(ArrayNode array, JsonPointer path, int max) {
+        int index = path.last().getMatchingIndex();
+        if (index < 0 || index > max) {
+            throw new InvalidPatchException("Array index out of range at " + path);
+        }
+        return index;
+    }
+
+    private static JsonPointer pointer(JsonNode operation, String field) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new InvalidPatchException("Patch operation is missing '" + field + "'");
+        }
+        try {
+            return JsonPointer.compile(value.asText());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPatchException("Invalid JSON pointer: " + value.asText());
+        }
+    }
+
+    private static JsonNode value(JsonNode operation) {
+        if (!operation.has("value")) {
+            throw new InvalidPatchException("Patch operation is missing 'value'");
+        }
+        return operation.get("value");
+    }
+}
@@ -0,0 +1,32 @@
+package com.ucsmgy.projectcatalog.util;
+
+import com.ucsmgy.projectcatalog.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by {@code (timestamp DESC, id DESC)}, passed to clients as an opaque
+ * token. The next page starts strictly after it, so rows inserted meanwhile neither shift nor repeat
+ * entries the way an OFFSET would.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('_');
+            return new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,9 @@
+ALTER TABLE projects
+    ADD COLUMN cover_card_url VARCHAR(255),
+    ADD COLUMN cover_thumb_url VARCHAR(255),
+    ADD COLUMN cover_placeholder TEXT;
+
+ALTER TABLE users
+    ADD COLUMN avatar_medium_url VARCHAR(255),
+    ADD COLUMN avatar_thumb_url VARCHAR(255),
+    ADD COLUMN avatar_placeholder TEXT;
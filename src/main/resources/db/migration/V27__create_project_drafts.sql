@@ -0,0 +1,12 @@
+CREATE TABLE project_drafts (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    project_id BIGINT REFERENCES projects(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0,
+    content TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_project_drafts_user_id ON project_drafts(user_id);
+CREATE UNIQUE INDEX uq_project_drafts_user_project ON project_drafts(user_id, project_id) WHERE project_id IS NOT NULL;
@@ -0,0 +1,9 @@
+ALTER TABLE projects ADD COLUMN reaction_count BIGINT NOT NULL DEFAULT 0;
+
+-- A backfill is not an edit; keep every project's updated_at as it was.
+ALTER TABLE projects DISABLE TRIGGER update_projects_timestamp;
+
+UPDATE projects p
+SET reaction_count = (SELECT COUNT(*) FROM reactions r WHERE r.project_id = p.id);
+
+ALTER TABLE projects ENABLE TRIGGER update_projects_timestamp;
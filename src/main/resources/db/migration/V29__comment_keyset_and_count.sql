@@ -0,0 +1,11 @@
+CREATE INDEX idx_comments_project_created_id ON comments(project_id, created_at DESC, id DESC);
+
+ALTER TABLE projects ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0;
+
+-- A backfill is not an edit; keep every project's updated_at as it was.
+ALTER TABLE projects DISABLE TRIGGER update_projects_timestamp;
+
+UPDATE projects p
+SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.project_id = p.id);
+
+ALTER TABLE projects ENABLE TRIGGER update_projects_timestamp;
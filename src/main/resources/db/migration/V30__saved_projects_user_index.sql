@@ -0,0 +1 @@
+CREATE INDEX idx_saved_projects_user_saved_at ON saved_projects(user_id, saved_at DESC, project_id DESC);
@@ -0,0 +1,15 @@
+CREATE TABLE trending_scores (
+    project_id BIGINT PRIMARY KEY REFERENCES projects(id) ON DELETE CASCADE,
+    department_id BIGINT,
+    score DOUBLE PRECISION NOT NULL,
+    computed_at TIMESTAMP NOT NULL
+);
+
+-- Users whose reaction or save a project has already been scored for, so un-reacting and reacting
+-- again can't raise its score.
+CREATE TABLE trending_interactions (
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    kind VARCHAR(20) NOT NULL,
+    PRIMARY KEY (project_id, user_id, kind)
+);
@@ -0,0 +1,5 @@
+ALTER TABLE notifications ADD COLUMN actor_count INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE notifications ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX idx_notifications_coalesce ON notifications(recipient_user_id, project_id, notification_type, created_at DESC)
+    WHERE is_read = FALSE;
@@ -0,0 +1,2 @@
+CREATE INDEX idx_notifications_inbox_unread ON notifications(recipient_user_id, is_read, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_inbox ON notifications(recipient_user_id, created_at DESC, id DESC);
@@ -0,0 +1,10 @@
+CREATE TABLE notification_counters (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    unread_count BIGINT NOT NULL DEFAULT 0,
+    total_count BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO notification_counters (user_id, unread_count, total_count)
+SELECT recipient_user_id, COUNT(*) FILTER (WHERE NOT is_read), COUNT(*)
+FROM notifications
+GROUP BY recipient_user_id;
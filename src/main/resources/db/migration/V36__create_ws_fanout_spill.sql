@@ -0,0 +1,6 @@
+-- WebSocket frames too large for a NOTIFY payload; other nodes read them back by id.
+CREATE UNLOGGED TABLE ws_fanout_spill (
+    id BIGSERIAL PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
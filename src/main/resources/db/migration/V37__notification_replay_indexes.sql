@@ -0,0 +1,2 @@
+CREATE INDEX idx_notifications_replay ON notifications(recipient_user_id, id);
+CREATE INDEX idx_notifications_updated ON notifications(recipient_user_id, updated_at) WHERE updated_at IS NOT NULL;
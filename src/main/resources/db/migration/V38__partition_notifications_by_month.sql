@@ -0,0 +1,126 @@
+-- Rebuilds notifications as a table range-partitioned by month of created_at (UTC). Partitions are
+-- named notifications_yYYYYmMM; old ones are detached by expire_notification_partitions instead of
+-- being emptied with DELETE.
+ALTER TABLE notifications RENAME TO notifications_old;
+ALTER INDEX notifications_pkey RENAME TO notifications_old_pkey;
+ALTER SEQUENCE notifications_id_seq OWNED BY NONE;
+ALTER SEQUENCE notifications_id_seq AS BIGINT;
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL DEFAULT nextval('notifications_id_seq'),
+    recipient_user_id BIGINT NOT NULL REFERENCES users(id),
+    message VARCHAR(255) NOT NULL,
+    project_id BIGINT NOT NULL,
+    comment_id BIGINT,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    notification_type VARCHAR(50) NOT NULL DEFAULT 'COMMENT',
+    project_title VARCHAR(255),
+    comment_text TEXT,
+    commenter_name VARCHAR(255),
+    approver_name VARCHAR(255),
+    rejection_reason TEXT,
+    actor_count INTEGER NOT NULL DEFAULT 1,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+-- Catches rows outside every monthly partition, should partition maintenance fall behind.
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- Rows that landed in the default partition for the month are moved into the new partition: Postgres
+-- refuses to create a partition while the default holds rows that belong to it, so the default is
+-- detached for the move and attached again afterwards.
+CREATE OR REPLACE FUNCTION create_notification_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := 'notifications_' || to_char(month, '"y"YYYY"m"MM');
+    lower_bound TIMESTAMPTZ := date_trunc('month', month::TIMESTAMP) AT TIME ZONE 'UTC';
+    upper_bound TIMESTAMPTZ := (date_trunc('month', month::TIMESTAMP) + INTERVAL '1 month') AT TIME ZONE 'UTC';
+BEGIN
+    -- Every node runs maintenance; one at a time.
+    PERFORM pg_advisory_xact_lock(hashtext('create_notification_partition'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM notifications_default WHERE created_at >= lower_bound AND created_at < upper_bound) THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, lower_bound, upper_bound);
+        RETURN partition_name;
+    END IF;
+
+    ALTER TABLE notifications DETACH PARTITION notifications_default;
+    EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    INSERT INTO notifications
+    SELECT * FROM notifications_default WHERE created_at >= lower_bound AND created_at < upper_bound;
+    DELETE FROM notifications_default WHERE created_at >= lower_bound AND created_at < upper_bound;
+    ALTER TABLE notifications ATTACH PARTITION notifications_default DEFAULT;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE SCHEMA IF NOT EXISTS notifications_archive;
+
+-- Detaches the monthly partitions that end on or before cutoff. Their unread rows are kept: they are
+-- copied back into notifications, where they land in the default partition, and removed from the
+-- detached one. Archived partitions move to the notifications_archive schema without their foreign
+-- keys, so they never block deleting a user; the others are dropped.
+CREATE OR REPLACE FUNCTION expire_notification_partitions(cutoff TIMESTAMPTZ, archive BOOLEAN) RETURNS SETOF TEXT AS $$
+DECLARE
+    partition_name TEXT;
+    fk TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'notifications'::REGCLASS
+          AND c.relname ~ '^notifications_y[0-9]{4}m[0-9]{2}$'
+          AND (make_timestamp(substr(c.relname, 16, 4)::INT, substr(c.relname, 21, 2)::INT, 1, 0, 0, 0)
+               + INTERVAL '1 month') AT TIME ZONE 'UTC' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE notifications DETACH PARTITION %I', partition_name);
+        EXECUTE format('INSERT INTO notifications SELECT * FROM %I WHERE NOT is_read', partition_name);
+        EXECUTE format('DELETE FROM %I WHERE NOT is_read', partition_name);
+        IF archive THEN
+            FOR fk IN SELECT conname FROM pg_constraint WHERE conrelid = partition_name::REGCLASS AND contype = 'f' LOOP
+                EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, fk);
+            END LOOP;
+            EXECUTE format('ALTER TABLE %I SET SCHEMA notifications_archive', partition_name);
+        ELSE
+            EXECUTE format('DROP TABLE %I', partition_name);
+        END IF;
+        RETURN NEXT partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions from the oldest notification's month through three months ahead.
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_old), CURRENT_TIMESTAMP) AT TIME ZONE 'UTC')::DATE;
+BEGIN
+    WHILE month <= (date_trunc('month', CURRENT_TIMESTAMP AT TIME ZONE 'UTC') + INTERVAL '3 months')::DATE LOOP
+        PERFORM create_notification_partition(month);
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, recipient_user_id, message, project_id, comment_id, is_read, created_at,
+                           notification_type, project_title, comment_text, commenter_name, approver_name,
+                           rejection_reason, actor_count, updated_at)
+SELECT id, recipient_user_id, message, project_id, comment_id, is_read, COALESCE(created_at, CURRENT_TIMESTAMP),
+       notification_type, project_title, comment_text, commenter_name, approver_name,
+       rejection_reason, actor_count, updated_at
+FROM notifications_old;
+
+DROP TABLE notifications_old;
+
+-- Created on the parent, so every partition (including future ones) gets its own copy.
+CREATE INDEX idx_notifications_coalesce ON notifications(recipient_user_id, project_id, notification_type, created_at DESC)
+    WHERE is_read = FALSE;
+CREATE INDEX idx_notifications_inbox_unread ON notifications(recipient_user_id, is_read, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_inbox ON notifications(recipient_user_id, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_replay ON notifications(recipient_user_id, id);
+CREATE INDEX idx_notifications_updated ON notifications(recipient_user_id, updated_at) WHERE updated_at IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Owners renew the lease while the request runs; only an expired lease may be taken over.
+ALTER TABLE idempotency_keys ADD COLUMN locked_until TIMESTAMP;
+UPDATE idempotency_keys SET locked_until = created_at WHERE status = 'IN_PROGRESS';
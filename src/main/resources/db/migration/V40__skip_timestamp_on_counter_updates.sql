@@ -0,0 +1,25 @@
+-- Like update_timestamp(), but leaves updated_at alone when only the columns named in the trigger
+-- arguments changed, so write-behind counters don't make every project look recently edited.
+CREATE OR REPLACE FUNCTION update_timestamp_except()
+RETURNS TRIGGER AS $$
+DECLARE
+    new_row JSONB := to_jsonb(NEW) - 'updated_at';
+    old_row JSONB := to_jsonb(OLD) - 'updated_at';
+    i INT;
+BEGIN
+    FOR i IN 0 .. TG_NARGS - 1 LOOP
+        new_row := new_row - TG_ARGV[i];
+        old_row := old_row - TG_ARGV[i];
+    END LOOP;
+    IF new_row IS DISTINCT FROM old_row THEN
+        NEW.updated_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER update_projects_timestamp ON projects;
+
+CREATE TRIGGER update_projects_timestamp
+BEFORE UPDATE ON projects
+FOR EACH ROW EXECUTE FUNCTION update_timestamp_except('reaction_count', 'comment_count');
@@ -0,0 +1,3 @@
+-- Distinct actors folded into a coalesced notification. Aggregates from before this start empty, so
+-- their next actors are counted as new.
+ALTER TABLE notifications ADD COLUMN actor_ids BIGINT[] NOT NULL DEFAULT '{}';